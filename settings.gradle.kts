@@ -1,3 +1,5 @@
 rootProject.name = "volt"
 include("volt-core")
-include("volt-test")
\ No newline at end of file
+include("volt-test")
+include("volt-bench")
+include("volt-processor")
\ No newline at end of file
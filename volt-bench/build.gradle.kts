@@ -0,0 +1,24 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_21
+    targetCompatibility = JavaVersion.VERSION_21
+}
+
+dependencies {
+    jmh(project(":volt-core"))
+    jmhAnnotationProcessor(project(":volt-processor"))
+    jmh("com.h2database:h2:2.2.224")
+    jmh("org.slf4j:slf4j-nop:2.0.9")
+}
+
+jmh {
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
@@ -0,0 +1,76 @@
+package me.oskarscot.volt.bench;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import me.oskarscot.volt.Volt;
+import me.oskarscot.volt.VoltFactory;
+import me.oskarscot.volt.VoltSettings;
+import me.oskarscot.volt.connection.ConnectionProvider;
+
+/**
+ * An in-memory H2 database in PostgreSQL mode, seeded with {@link #ROWS} items.
+ *
+ * <p>The Volt and plain JDBC sides of each benchmark borrow from the same HikariCP pool, so
+ * both pay the same pooling cost and read the same data.</p>
+ */
+final class BenchDatabase implements AutoCloseable {
+
+  static final int ROWS = 1_000;
+
+  private static final AtomicInteger COUNTER = new AtomicInteger();
+
+  private final HikariDataSource dataSource;
+
+  BenchDatabase() throws SQLException {
+    HikariConfig config = new HikariConfig();
+    config.setJdbcUrl(
+        "jdbc:h2:mem:bench" + COUNTER.incrementAndGet() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+    config.setMaximumPoolSize(4);
+    this.dataSource = new HikariDataSource(config);
+
+    try (Connection connection = dataSource.getConnection();
+        Statement stmt = connection.createStatement()) {
+      stmt.execute(
+          "CREATE TABLE bench_items ("
+              + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+              + "name VARCHAR(64), "
+              + "quantity INT NOT NULL, "
+              + "price DOUBLE PRECISION NOT NULL, "
+              + "active BOOLEAN NOT NULL)");
+      stmt.execute("CREATE INDEX bench_items_quantity ON bench_items (quantity)");
+    }
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement stmt = connection.prepareStatement(
+            "INSERT INTO bench_items (name, quantity, price, active) VALUES (?, ?, ?, ?)")) {
+      for (int i = 0; i < ROWS; i++) {
+        stmt.setString(1, "item-" + i);
+        stmt.setInt(2, i);
+        stmt.setDouble(3, i * 1.5);
+        stmt.setBoolean(4, i % 2 == 0);
+        stmt.addBatch();
+      }
+      stmt.executeBatch();
+    }
+  }
+
+  Volt createVolt(VoltSettings settings) {
+    Volt volt = VoltFactory.createVolt(ConnectionProvider.of(dataSource), settings);
+    volt.registerEntity(BenchItem.class);
+    volt.registerEntity(ReflectiveBenchItem.class);
+    return volt;
+  }
+
+  Connection getConnection() throws SQLException {
+    return dataSource.getConnection();
+  }
+
+  @Override
+  public void close() {
+    dataSource.close();
+  }
+}
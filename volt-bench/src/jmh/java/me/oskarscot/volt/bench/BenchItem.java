@@ -0,0 +1,66 @@
+package me.oskarscot.volt.bench;
+
+import me.oskarscot.volt.annotation.Entity;
+import me.oskarscot.volt.annotation.Identifier;
+import me.oskarscot.volt.entity.PrimaryKeyType;
+
+@Entity("bench_items")
+public class BenchItem {
+
+  @Identifier(type = PrimaryKeyType.NUMBER, generated = true)
+  private Long id;
+
+  private String name;
+  private int quantity;
+  private double price;
+  private boolean active;
+
+  public BenchItem() {}
+
+  public BenchItem(String name, int quantity, double price, boolean active) {
+    this.name = name;
+    this.quantity = quantity;
+    this.price = price;
+    this.active = active;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public int getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(int quantity) {
+    this.quantity = quantity;
+  }
+
+  public double getPrice() {
+    return price;
+  }
+
+  public void setPrice(double price) {
+    this.price = price;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public void setActive(boolean active) {
+    this.active = active;
+  }
+}
@@ -0,0 +1,140 @@
+package me.oskarscot.volt.bench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import me.oskarscot.volt.converter.BooleanConverter;
+import me.oskarscot.volt.converter.DoubleConverter;
+import me.oskarscot.volt.converter.IntegerConverter;
+import me.oskarscot.volt.converter.LongConverter;
+import me.oskarscot.volt.converter.StringConverter;
+import me.oskarscot.volt.entity.FieldDefinition;
+import me.oskarscot.volt.internal.registry.EntityRegistry;
+import me.oskarscot.volt.internal.registry.ConverterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Binding and reading one row's worth of values through {@link ConverterRegistry}, looked up
+ * by type and through entity fields bound to their converters, against the typed JDBC setters
+ * and getters they delegate to.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConverterBenchmark {
+
+  private BenchDatabase database;
+  private Connection connection;
+  private PreparedStatement insert;
+  private PreparedStatement select;
+  private ResultSet row;
+  private ConverterRegistry converters;
+  private FieldDefinition[] fields;
+  private BenchItem item;
+
+  private Long id = 42L;
+  private String name = "item-42";
+  private Integer quantity = 7;
+  private Double price = 12.5;
+  private Boolean active = Boolean.TRUE;
+
+  @Setup
+  public void setUp() throws SQLException {
+    database = new BenchDatabase();
+    connection = database.getConnection();
+    insert = connection.prepareStatement(
+        "INSERT INTO bench_items (id, name, quantity, price, active) VALUES (?, ?, ?, ?, ?)");
+    select = connection.prepareStatement(
+        "SELECT id, name, quantity, price, active FROM bench_items WHERE id = 1");
+    row = select.executeQuery();
+    row.next();
+
+    converters = new ConverterRegistry();
+    converters.register(Long.class, new LongConverter());
+    converters.register(String.class, new StringConverter());
+    converters.register(Integer.class, new IntegerConverter());
+    converters.register(Double.class, new DoubleConverter());
+    converters.register(Boolean.class, new BooleanConverter());
+    converters.register(int.class, new IntegerConverter());
+    converters.register(double.class, new DoubleConverter());
+    converters.register(boolean.class, new BooleanConverter());
+
+    EntityRegistry entities = new EntityRegistry(converters);
+    entities.registerEntity(BenchItem.class);
+    fields = entities.getPlan(BenchItem.class).getSelectColumns();
+    item = new BenchItem(name, quantity, price, active);
+    item.setId(id);
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    row.close();
+    select.close();
+    insert.close();
+    connection.close();
+    database.close();
+  }
+
+  @Benchmark
+  public void voltWrite() throws SQLException {
+    converters.write(insert, 1, id, Long.class);
+    converters.write(insert, 2, name, String.class);
+    converters.write(insert, 3, quantity, Integer.class);
+    converters.write(insert, 4, price, Double.class);
+    converters.write(insert, 5, active, Boolean.class);
+  }
+
+  /** Primitive fields are bound without boxing. */
+  @Benchmark
+  public void voltWriteFields() throws SQLException {
+    for (int i = 0; i < fields.length; i++) {
+      converters.writeField(insert, i + 1, item, fields[i]);
+    }
+  }
+
+  @Benchmark
+  public void jdbcWrite() throws SQLException {
+    insert.setLong(1, id);
+    insert.setString(2, name);
+    insert.setInt(3, quantity);
+    insert.setDouble(4, price);
+    insert.setBoolean(5, active);
+  }
+
+  @Benchmark
+  public void voltRead(Blackhole blackhole) throws SQLException {
+    blackhole.consume(converters.read(row, 1, Long.class));
+    blackhole.consume(converters.read(row, 2, String.class));
+    blackhole.consume(converters.read(row, 3, Integer.class));
+    blackhole.consume(converters.read(row, 4, Double.class));
+    blackhole.consume(converters.read(row, 5, Boolean.class));
+  }
+
+  @Benchmark
+  public BenchItem voltReadFields() throws SQLException {
+    BenchItem read = new BenchItem();
+    for (int i = 0; i < fields.length; i++) {
+      converters.readField(row, i + 1, read, fields[i]);
+    }
+    return read;
+  }
+
+  @Benchmark
+  public void jdbcRead(Blackhole blackhole) throws SQLException {
+    blackhole.consume(row.getLong(1));
+    blackhole.consume(row.getString(2));
+    blackhole.consume(row.getInt(3));
+    blackhole.consume(row.getDouble(4));
+    blackhole.consume(row.getBoolean(5));
+  }
+}
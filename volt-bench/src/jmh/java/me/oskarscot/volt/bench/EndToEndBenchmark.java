@@ -0,0 +1,193 @@
+package me.oskarscot.volt.bench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.oskarscot.volt.Transaction;
+import me.oskarscot.volt.Volt;
+import me.oskarscot.volt.VoltSettings;
+import me.oskarscot.volt.query.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Volt's public API against the equivalent hand-written JDBC, each running in its own
+ * transaction on a connection borrowed from the same pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EndToEndBenchmark {
+
+  private static final String SELECT_BY_ID =
+      "SELECT id, name, quantity, price, active FROM bench_items WHERE id = ?";
+  private static final String SELECT_BY_QUANTITY =
+      "SELECT id, name, quantity, price, active FROM bench_items WHERE quantity < ?";
+  private static final String INSERT =
+      "INSERT INTO bench_items (name, quantity, price, active) VALUES (?, ?, ?, ?)";
+  private static final String UPDATE_QUANTITY = "UPDATE bench_items SET quantity = ? WHERE id = ?";
+
+  /** Matches 100 of the seeded rows. */
+  private static final int QUANTITY_BOUND = 100;
+
+  private BenchDatabase database;
+  private Volt volt;
+  private long nextId;
+
+  @Setup
+  public void setUp() throws SQLException {
+    database = new BenchDatabase();
+    volt = database.createVolt(VoltSettings.defaults());
+  }
+
+  @TearDown
+  public void tearDown() {
+    database.close();
+  }
+
+  @Benchmark
+  public BenchItem voltFindById() {
+    return volt.findById(BenchItem.class, nextId()).getValue();
+  }
+
+  @Benchmark
+  public BenchItem jdbcFindById() throws SQLException {
+    try (Connection connection = database.getConnection()) {
+      connection.setAutoCommit(false);
+      BenchItem item = null;
+      try (PreparedStatement stmt = connection.prepareStatement(SELECT_BY_ID)) {
+        stmt.setLong(1, nextId());
+        try (ResultSet rs = stmt.executeQuery()) {
+          if (rs.next()) {
+            item = read(rs);
+          }
+        }
+      }
+      connection.commit();
+      connection.setAutoCommit(true);
+      return item;
+    }
+  }
+
+  @Benchmark
+  public List<BenchItem> voltFindAllBy() {
+    try (Transaction tx = volt.beginTransaction()) {
+      List<BenchItem> items =
+          tx.findAllBy(BenchItem.class, Query.where("quantity").lt(QUANTITY_BOUND)).getValue();
+      tx.commit();
+      return items;
+    }
+  }
+
+  @Benchmark
+  public List<BenchItem> jdbcFindAllBy() throws SQLException {
+    try (Connection connection = database.getConnection()) {
+      connection.setAutoCommit(false);
+      List<BenchItem> items = new ArrayList<>();
+      try (PreparedStatement stmt = connection.prepareStatement(SELECT_BY_QUANTITY)) {
+        stmt.setInt(1, QUANTITY_BOUND);
+        try (ResultSet rs = stmt.executeQuery()) {
+          while (rs.next()) {
+            items.add(read(rs));
+          }
+        }
+      }
+      connection.commit();
+      connection.setAutoCommit(true);
+      return items;
+    }
+  }
+
+  @Benchmark
+  public BenchItem voltSave() {
+    return volt.save(new BenchItem("saved", 1, 2.5, true)).getValue();
+  }
+
+  @Benchmark
+  public BenchItem jdbcSave() throws SQLException {
+    BenchItem item = new BenchItem("saved", 1, 2.5, true);
+    try (Connection connection = database.getConnection()) {
+      connection.setAutoCommit(false);
+      try (PreparedStatement stmt =
+          connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+        stmt.setString(1, item.getName());
+        stmt.setInt(2, item.getQuantity());
+        stmt.setDouble(3, item.getPrice());
+        stmt.setBoolean(4, item.isActive());
+        stmt.executeUpdate();
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+          keys.next();
+          item.setId(keys.getLong(1));
+        }
+      }
+      connection.commit();
+      connection.setAutoCommit(true);
+      return item;
+    }
+  }
+
+  /**
+   * Loads a row and changes one column, which dirty checking turns into a single-column
+   * UPDATE.
+   */
+  @Benchmark
+  public BenchItem voltUpdateChanged() {
+    try (Transaction tx = volt.beginTransaction()) {
+      BenchItem item = tx.findById(BenchItem.class, nextId()).getValue();
+      item.setQuantity(item.getQuantity() + 1);
+      tx.save(item);
+      tx.commit();
+      return item;
+    }
+  }
+
+  @Benchmark
+  public BenchItem jdbcUpdateChanged() throws SQLException {
+    try (Connection connection = database.getConnection()) {
+      connection.setAutoCommit(false);
+      BenchItem item;
+      try (PreparedStatement stmt = connection.prepareStatement(SELECT_BY_ID)) {
+        stmt.setLong(1, nextId());
+        try (ResultSet rs = stmt.executeQuery()) {
+          rs.next();
+          item = read(rs);
+        }
+      }
+      item.setQuantity(item.getQuantity() + 1);
+      try (PreparedStatement stmt = connection.prepareStatement(UPDATE_QUANTITY)) {
+        stmt.setInt(1, item.getQuantity());
+        stmt.setLong(2, item.getId());
+        stmt.executeUpdate();
+      }
+      connection.commit();
+      connection.setAutoCommit(true);
+      return item;
+    }
+  }
+
+  private long nextId() {
+    nextId = nextId % BenchDatabase.ROWS + 1;
+    return nextId;
+  }
+
+  static BenchItem read(ResultSet rs) throws SQLException {
+    BenchItem item = new BenchItem();
+    item.setId(rs.getLong(1));
+    item.setName(rs.getString(2));
+    item.setQuantity(rs.getInt(3));
+    item.setPrice(rs.getDouble(4));
+    item.setActive(rs.getBoolean(5));
+    return item;
+  }
+}
@@ -0,0 +1,95 @@
+package me.oskarscot.volt.bench;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.oskarscot.volt.Transaction;
+import me.oskarscot.volt.Volt;
+import me.oskarscot.volt.VoltSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Reads every seeded row, so that row mapping dominates: Volt with and without persistence
+ * context tracking against a hand-written {@link ResultSet} loop. {@link BenchItem} is mapped
+ * by its generated mapper and {@link ReflectiveBenchItem} reflectively, over the same table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HydrationBenchmark {
+
+  private static final String SELECT_ALL =
+      "SELECT id, name, quantity, price, active FROM bench_items";
+
+  private BenchDatabase database;
+  private Volt tracked;
+  private Volt untracked;
+
+  @Setup
+  public void setUp() throws SQLException {
+    database = new BenchDatabase();
+    tracked = database.createVolt(VoltSettings.defaults());
+    untracked = database.createVolt(
+        VoltSettings.builder().identityMap(false).dirtyChecking(false).build());
+  }
+
+  @TearDown
+  public void tearDown() {
+    database.close();
+  }
+
+  @Benchmark
+  public List<BenchItem> voltTracked() {
+    return findAll(tracked);
+  }
+
+  @Benchmark
+  public List<BenchItem> voltUntracked() {
+    return findAll(untracked);
+  }
+
+  @Benchmark
+  public List<ReflectiveBenchItem> voltUntrackedReflective() {
+    try (Transaction tx = untracked.beginTransaction()) {
+      List<ReflectiveBenchItem> items = tx.findAll(ReflectiveBenchItem.class).getValue();
+      tx.commit();
+      return items;
+    }
+  }
+
+  @Benchmark
+  public List<BenchItem> jdbc() throws SQLException {
+    try (Connection connection = database.getConnection()) {
+      connection.setAutoCommit(false);
+      List<BenchItem> items = new ArrayList<>();
+      try (PreparedStatement stmt = connection.prepareStatement(SELECT_ALL);
+          ResultSet rs = stmt.executeQuery()) {
+        while (rs.next()) {
+          items.add(EndToEndBenchmark.read(rs));
+        }
+      }
+      connection.commit();
+      connection.setAutoCommit(true);
+      return items;
+    }
+  }
+
+  private static List<BenchItem> findAll(Volt volt) {
+    try (Transaction tx = volt.beginTransaction()) {
+      List<BenchItem> items = tx.findAll(BenchItem.class).getValue();
+      tx.commit();
+      return items;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package me.oskarscot.volt.bench;
+
+import me.oskarscot.volt.annotation.Entity;
+import me.oskarscot.volt.annotation.Identifier;
+import me.oskarscot.volt.entity.PrimaryKeyType;
+
+/**
+ * {@link BenchItem} without setters, so that the annotation processor skips it and Volt maps
+ * it reflectively, as a baseline for the generated mapper.
+ */
+@Entity("bench_items")
+public class ReflectiveBenchItem {
+
+  @Identifier(type = PrimaryKeyType.NUMBER, generated = true)
+  private Long id;
+
+  private String name;
+  private int quantity;
+  private double price;
+  private boolean active;
+
+  public ReflectiveBenchItem() {}
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getQuantity() {
+    return quantity;
+  }
+
+  public double getPrice() {
+    return price;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+}
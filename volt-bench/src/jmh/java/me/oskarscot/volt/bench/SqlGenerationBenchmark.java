@@ -0,0 +1,81 @@
+package me.oskarscot.volt.bench;
+
+import java.util.concurrent.TimeUnit;
+import me.oskarscot.volt.internal.builders.SelectBuilder;
+import me.oskarscot.volt.internal.registry.ConverterRegistry;
+import me.oskarscot.volt.internal.registry.EntityRegistry;
+import me.oskarscot.volt.query.Direction;
+import me.oskarscot.volt.query.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Building query SQL with the builders against concatenating the same fragments by hand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SqlGenerationBenchmark {
+
+  private SelectBuilder selectBuilder;
+  private Query query;
+
+  // Fields rather than constants, so the handwritten baselines are not folded at compile time
+  private String selectClause = "SELECT id, name, quantity, price, active FROM bench_items";
+  private String quantityColumn = "quantity";
+  private String activeColumn = "active";
+  private String orderColumn = "id";
+  private int limit = 50;
+
+  @Setup
+  public void setUp() {
+    EntityRegistry entities = new EntityRegistry(new ConverterRegistry());
+    entities.registerEntity(BenchItem.class);
+    selectBuilder = entities.getPlan(BenchItem.class).getSelectBuilder();
+    query = newQuery();
+  }
+
+  @Benchmark
+  public String voltWhereClause() {
+    return query.toWhereClause();
+  }
+
+  @Benchmark
+  public String handwrittenWhereClause() {
+    return quantityColumn + " < ? AND " + activeColumn + " = ?";
+  }
+
+  @Benchmark
+  public String voltSelectSql() {
+    return selectBuilder.toSqlWithQuery(query);
+  }
+
+  /**
+   * Builds the query as well as its SQL, as a call site does on every request.
+   */
+  @Benchmark
+  public String voltBuildAndSelectSql() {
+    return selectBuilder.toSqlWithQuery(newQuery());
+  }
+
+  @Benchmark
+  public String handwrittenSelectSql() {
+    return selectClause
+        + " WHERE " + quantityColumn + " < ? AND " + activeColumn + " = ?"
+        + " ORDER BY " + orderColumn + " ASC LIMIT " + limit;
+  }
+
+  private Query newQuery() {
+    return Query.where(quantityColumn)
+        .lt(100)
+        .and(activeColumn)
+        .eq(true)
+        .orderBy(orderColumn, Direction.ASC)
+        .limit(limit);
+  }
+}
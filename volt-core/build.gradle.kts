@@ -17,6 +17,7 @@ java {
 dependencies {
     api("com.zaxxer:HikariCP:7.0.2")
     implementation("org.slf4j:slf4j-api:2.0.9")
+    compileOnly("org.postgresql:postgresql:42.7.7")
     compileOnly("org.jetbrains:annotations:26.0.2")
 
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
@@ -0,0 +1,108 @@
+package me.oskarscot.volt;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import me.oskarscot.volt.exception.VoltError;
+import me.oskarscot.volt.query.Query;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Non-blocking access to a {@link Volt} instance.
+ *
+ * <p>Each call runs the equivalent blocking operation on the executor configured with
+ * {@link VoltSettings.Builder#asyncExecutor(java.util.concurrent.Executor)}, by default a
+ * new virtual thread per call, and completes the returned future with its result. At most
+ * {@link VoltSettings#getAsyncConcurrency()} calls hold a connection at a time; the rest wait
+ * on the executor thread, never on the caller's, so bursts queue up in Volt instead of timing
+ * out on connection acquisition.</p>
+ *
+ * <pre>{@code
+ * AsyncVolt async = volt.async();
+ *
+ * async.findByIdAsync(User.class, 1L).thenAccept(result -> {
+ *     if (result.isSuccess()) {
+ *         respond(result.getValue());
+ *     }
+ * });
+ * }</pre>
+ *
+ * <p>Futures complete exceptionally only when the operation throws, for example when no
+ * connection can be acquired; failures reported through {@link Result} complete normally.</p>
+ *
+ * @see Volt#async()
+ */
+public interface AsyncVolt {
+
+  /**
+   * Finds an entity by its primary key.
+   *
+   * @param type the entity class
+   * @param id the primary key value
+   * @param <T> the entity type
+   * @return a future of the entity, or of an error if not found
+   * @see Volt#findById(Class, Object)
+   */
+  @NotNull
+  <T> CompletableFuture<Result<T, VoltError>> findByIdAsync(@NotNull Class<T> type, @NotNull Object id);
+
+  /**
+   * Finds all entities matching a query.
+   *
+   * @param type the entity class
+   * @param query the query
+   * @param <T> the entity type
+   * @return a future of the matching entities, or of an error on failure
+   * @see Transaction#findAllBy(Class, Query)
+   */
+  @NotNull
+  <T> CompletableFuture<Result<List<T>, VoltError>> findAllByAsync(
+      @NotNull Class<T> type, @NotNull Query query);
+
+  /**
+   * Saves an entity.
+   *
+   * @param entity the entity to save
+   * @param <T> the entity type
+   * @return a future of the saved entity, or of an error on failure
+   * @see Volt#save(Object)
+   */
+  @NotNull
+  <T> CompletableFuture<Result<T, VoltError>> saveAsync(@NotNull T entity);
+
+  /**
+   * Deletes an entity.
+   *
+   * @param entity the entity to delete
+   * @param <T> the entity type
+   * @return a future of the outcome
+   * @see Volt#delete(Object)
+   */
+  @NotNull
+  <T> CompletableFuture<Result<Void, VoltError>> deleteAsync(@NotNull T entity);
+
+  /**
+   * Runs work in a transaction.
+   *
+   * <p>The transaction is committed if the work returns a successful result and rolled back
+   * otherwise, including when it throws. The work runs on a single executor thread, so the
+   * transaction must not be handed to other threads.</p>
+   *
+   * <pre>{@code
+   * async.inTransactionAsync(tx -> {
+   *     Account from = tx.findById(Account.class, fromId).getValue();
+   *     Account to = tx.findById(Account.class, toId).getValue();
+   *     from.withdraw(amount);
+   *     to.deposit(amount);
+   *     return tx.saveAll(List.of(from, to));
+   * });
+   * }</pre>
+   *
+   * @param work the work to run with the open transaction
+   * @param <R> the result type
+   * @return a future of the work's result, or of the commit error if committing failed
+   */
+  @NotNull
+  <R> CompletableFuture<Result<R, VoltError>> inTransactionAsync(
+      @NotNull Function<Transaction, Result<R, VoltError>> work);
+}
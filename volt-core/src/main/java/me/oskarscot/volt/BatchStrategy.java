@@ -0,0 +1,27 @@
+package me.oskarscot.volt;
+
+/**
+ * How {@link Transaction#saveAll(Iterable)} sends inserts and upserts to the database.
+ *
+ * @see VoltSettings.Builder#batchStrategy(BatchStrategy)
+ */
+public enum BatchStrategy {
+
+  /**
+   * One single-row statement per entity, sent together with JDBC statement batching.
+   *
+   * <p>Works with any data and is the default.</p>
+   */
+  JDBC_BATCH,
+
+  /**
+   * One {@code INSERT ... VALUES (...), (...), ...} statement per chunk of entities.
+   *
+   * <p>Cuts parse and execute overhead further than {@link #JDBC_BATCH}. The number of rows
+   * per statement is the batch size, capped so the statement stays within
+   * {@link VoltSettings#getMaxBindParameters()}. Generated keys are read back through a
+   * {@code RETURNING} clause in row order. A chunk must not contain the same primary key
+   * twice, as PostgreSQL rejects an upsert that affects one row more than once.</p>
+   */
+  MULTI_ROW
+}
@@ -0,0 +1,23 @@
+package me.oskarscot.volt;
+
+import java.time.Duration;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The outcome of a {@link Volt#bulkLoad(Class, java.util.stream.Stream)} call.
+ *
+ * @param rows the number of rows loaded
+ * @param elapsed the time spent loading
+ */
+public record BulkLoadResult(long rows, @NotNull Duration elapsed) {
+
+  /**
+   * Returns the load throughput.
+   *
+   * @return rows loaded per second
+   */
+  public double rowsPerSecond() {
+    long nanos = elapsed.toNanos();
+    return nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+  }
+}
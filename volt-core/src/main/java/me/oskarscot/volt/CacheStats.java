@@ -0,0 +1,23 @@
+package me.oskarscot.volt;
+
+/**
+ * Cumulative counters of an entity's second-level cache.
+ *
+ * @param hits the number of lookups answered by the cache, including cached misses
+ * @param misses the number of lookups that went to the database
+ * @param evictions the number of entries dropped because they expired or the cache was full
+ * @param size the current number of entries
+ * @see me.oskarscot.volt.annotation.Cacheable
+ */
+public record CacheStats(long hits, long misses, long evictions, long size) {
+
+  /**
+   * Returns the fraction of lookups answered by the cache.
+   *
+   * @return the hit ratio between {@code 0} and {@code 1}
+   */
+  public double hitRatio() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+}
@@ -0,0 +1,35 @@
+package me.oskarscot.volt;
+
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * One page of a keyset-paginated query.
+ *
+ * <pre>{@code
+ * Page<User> page = tx.findPage(User.class, Query.all().orderBy("id").limit(50)).getValue();
+ *
+ * if (page.hasNext()) {
+ *     Query next = Query.all().orderBy("id").limit(50).afterCursor(page.nextCursor());
+ *     page = tx.findPage(User.class, next).getValue();
+ * }
+ * }</pre>
+ *
+ * @param items the entities on this page
+ * @param nextCursor an opaque token for {@link me.oskarscot.volt.query.Query#afterCursor(String)}
+ *     that continues after this page, or {@code null} if this is the last page
+ * @param <T> the entity type
+ * @see Transaction#findPage(Class, me.oskarscot.volt.query.Query)
+ */
+public record Page<T>(@NotNull List<T> items, @Nullable String nextCursor) {
+
+  /**
+   * Returns {@code true} if more rows follow this page.
+   *
+   * @return {@code true} if there is a next page
+   */
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
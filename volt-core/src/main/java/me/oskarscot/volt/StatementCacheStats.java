@@ -0,0 +1,22 @@
+package me.oskarscot.volt;
+
+/**
+ * Cumulative prepared statement cache counters across all transactions of a {@link Volt}.
+ *
+ * @param hits the number of statements served from a cache
+ * @param misses the number of statements that had to be prepared
+ * @param evictions the number of cached statements closed to make room for others
+ * @see VoltSettings#getStatementCacheSize()
+ */
+public record StatementCacheStats(long hits, long misses, long evictions) {
+
+  /**
+   * Returns the fraction of statement lookups served from a cache.
+   *
+   * @return the hit ratio between {@code 0} and {@code 1}
+   */
+  public double hitRatio() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+}
@@ -1,12 +1,18 @@
 package me.oskarscot.volt;
 
 import me.oskarscot.volt.exception.VoltError;
+import me.oskarscot.volt.query.Direction;
+import me.oskarscot.volt.query.Projection;
 import me.oskarscot.volt.query.Query;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Represents a database transaction.
@@ -35,6 +41,12 @@ public interface Transaction extends AutoCloseable {
    * <p>Uses UPSERT semantics — inserts a new row if one doesn't exist,
    * or updates the existing row if it does.</p>
    *
+   * <p>With {@link VoltSettings#isDirtyChecking() dirty checking} enabled, an entity that was
+   * loaded or saved earlier in this transaction is compared against the values it had then:
+   * only the changed columns are updated, and nothing is sent if none changed. Field values
+   * are compared with {@code equals}, so mutable values should be replaced rather than
+   * modified in place.</p>
+   *
    * @param entity the entity to save
    * @param <T> the entity type
    * @return a result containing the saved entity, or an error if the operation failed
@@ -42,9 +54,56 @@ public interface Transaction extends AutoCloseable {
   @NotNull
   <T> Result<T, VoltError> save(@NotNull T entity);
 
+  /**
+   * Saves many entities in batches.
+   *
+   * <p>Entities are grouped by type and by whether they need a generated key (insert) or
+   * not (upsert), and each group is sent in chunks of {@link VoltSettings#getBatchSize()}
+   * rows, either through JDBC batching or as multi-row statements depending on
+   * {@link VoltSettings#getBatchStrategy()}. Generated {@link me.oskarscot.volt.entity.PrimaryKeyType#NUMBER}
+   * keys are assigned back to the entities. Entities of different types may be written in
+   * a different order than they were supplied.</p>
+   *
+   * <pre>{@code
+   * Result<Long, VoltError> result = tx.saveAll(users);
+   * }</pre>
+   *
+   * @param entities the entities to save
+   * @return a result containing the number of entities saved, or an error if the operation failed
+   */
+  @NotNull
+  Result<Long, VoltError> saveAll(@NotNull Iterable<?> entities);
+
+  /**
+   * Saves many entities in batches, consuming the iterator lazily.
+   *
+   * <p>At most one batch per entity type is held in memory at a time.</p>
+   *
+   * @param entities the entities to save
+   * @return a result containing the number of entities saved, or an error if the operation failed
+   * @see #saveAll(Iterable)
+   */
+  @NotNull
+  Result<Long, VoltError> saveAll(@NotNull Iterator<?> entities);
+
+  /**
+   * Saves many entities in batches, consuming the stream lazily.
+   *
+   * <p>At most one batch per entity type is held in memory at a time.</p>
+   *
+   * @param entities the entities to save
+   * @return a result containing the number of entities saved, or an error if the operation failed
+   * @see #saveAll(Iterable)
+   */
+  @NotNull
+  Result<Long, VoltError> saveAll(@NotNull Stream<?> entities);
+
   /**
    * Finds an entity by its primary key.
    *
+   * <p>With the {@link VoltSettings#isIdentityMap() identity map} enabled, an entity already
+   * loaded or saved in this transaction is returned from memory as the same instance.</p>
+   *
    * @param type the entity class
    * @param id the primary key value
    * @param <T> the entity type
@@ -53,6 +112,28 @@ public interface Transaction extends AutoCloseable {
   @NotNull
   <T> Result<T, VoltError> findById(@NotNull Class<T> type, @NotNull Object id);
 
+  /**
+   * Finds many entities by primary key in as few round trips as possible.
+   *
+   * <p>On PostgreSQL all keys are bound as a single array parameter
+   * ({@code WHERE id = ANY(?)}); on other databases they are sent as IN lists of at most
+   * {@link VoltSettings#getBatchSize()} keys each.</p>
+   *
+   * <p>The entities are returned in the order of their keys in {@code ids}. Keys with no
+   * matching row are skipped, and repeated keys yield the entity once.</p>
+   *
+   * <pre>{@code
+   * Result<List<Product>, VoltError> result = tx.findAllById(Product.class, List.of(3L, 1L, 2L));
+   * }</pre>
+   *
+   * @param type the entity class
+   * @param ids the primary key values, of the primary key's Java type
+   * @param <T> the entity type
+   * @return a result containing the found entities in key order, or an error on failure
+   */
+  @NotNull
+  <T> Result<List<T>, VoltError> findAllById(@NotNull Class<T> type, @NotNull Collection<?> ids);
+
   /**
    * Finds the first entity matching a field value.
    *
@@ -101,6 +182,51 @@ public interface Transaction extends AutoCloseable {
   @NotNull
   <T> Result<List<T>, VoltError> findAll(@NotNull Class<T> type);
 
+  /**
+   * Counts the entities matching a query without loading them.
+   *
+   * <p>The count is computed by the database with {@code SELECT COUNT(*)}; the query's
+   * ORDER BY and LIMIT are ignored.</p>
+   *
+   * <pre>{@code
+   * Result<Long, VoltError> result = tx.count(User.class, Query.where("active").eq(true));
+   * }</pre>
+   *
+   * @param type the entity class
+   * @param query the query to match
+   * @param <T> the entity type
+   * @return a result containing the number of matching rows, or an error on failure
+   * @see Query
+   */
+  @NotNull
+  <T> Result<Long, VoltError> count(@NotNull Class<T> type, @NotNull Query query);
+
+  /**
+   * Checks whether any entity matches a query without loading it.
+   *
+   * <p>The database stops at the first matching row, so this is cheaper than
+   * {@link #count(Class, Query)} when only presence matters.</p>
+   *
+   * @param type the entity class
+   * @param query the query to match
+   * @param <T> the entity type
+   * @return a result containing {@code true} if a row matches, or an error on failure
+   * @see Query
+   */
+  @NotNull
+  <T> Result<Boolean, VoltError> exists(@NotNull Class<T> type, @NotNull Query query);
+
+  /**
+   * Checks whether an entity with the given primary key exists without loading it.
+   *
+   * @param type the entity class
+   * @param id the primary key value
+   * @param <T> the entity type
+   * @return a result containing {@code true} if the entity exists, or an error on failure
+   */
+  @NotNull
+  <T> Result<Boolean, VoltError> existsById(@NotNull Class<T> type, @NotNull Object id);
+
   /**
    * Finds the first entity matching a query.
    *
@@ -145,6 +271,10 @@ public interface Transaction extends AutoCloseable {
    * Result<List<User>, VoltError> result = tx.findAllBy(User.class, query);
    * }</pre>
    *
+   * <p>A {@link Query#cached()} query on a {@link me.oskarscot.volt.annotation.Cacheable}
+   * entity is answered from the second-level cache when possible, unless this transaction
+   * has written to the entity type.</p>
+   *
    * @param type the entity class
    * @param query the query to execute
    * @param <T> the entity type
@@ -154,6 +284,94 @@ public interface Transaction extends AutoCloseable {
   @NotNull
   <T> Result<List<T>, VoltError> findAllBy(@NotNull Class<T> type, @NotNull Query query);
 
+  /**
+   * Finds all entities matching a query, reading only the columns a projection needs.
+   *
+   * <p>The SELECT lists just the projected columns, so wide rows are never transferred or
+   * hydrated in full. The projection may be a record or an interface of getters:</p>
+   *
+   * <pre>{@code
+   * record UserSummary(Long id, String name) {}
+   *
+   * Projection<UserSummary> summary = Projection.of(UserSummary.class);
+   * Result<List<UserSummary>, VoltError> result =
+   *     tx.findAllBy(User.class, Query.where("active").eq(true), summary);
+   * }</pre>
+   *
+   * @param type the entity class
+   * @param query the query to execute
+   * @param projection the projection to hydrate rows into
+   * @param <T> the entity type
+   * @param <R> the projected type
+   * @return a result containing a list of projected rows (may be empty), or an error on failure
+   * @see Projection
+   */
+  @NotNull
+  <T, R> Result<List<R>, VoltError> findAllBy(
+      @NotNull Class<T> type, @NotNull Query query, @NotNull Projection<R> projection);
+
+  /**
+   * Finds one page of entities using keyset (seek) pagination.
+   *
+   * <p>The query must define at least one {@link Query#orderBy(String, Direction) ORDER BY}
+   * column and a {@link Query#limit(int) limit}, which is the page size. To fetch the next
+   * page, run the same query with {@link Query#afterCursor(String)} set to the previous
+   * page's {@link Page#nextCursor()}. Unlike OFFSET pagination, each page costs the same
+   * no matter how deep it is, provided an index covers the ORDER BY columns. The ORDER BY
+   * columns should identify a row uniquely, typically by ending with the primary key.</p>
+   *
+   * <pre>{@code
+   * Query query = Query.where("active").eq(true).orderBy("id").limit(100);
+   * Result<Page<User>, VoltError> first = tx.findPage(User.class, query);
+   * }</pre>
+   *
+   * @param type the entity class
+   * @param query the query to execute, with ORDER BY and LIMIT
+   * @param <T> the entity type
+   * @return a result containing the page, or an error on failure
+   * @see Page
+   */
+  @NotNull
+  <T> Result<Page<T>, VoltError> findPage(@NotNull Class<T> type, @NotNull Query query);
+
+  /**
+   * Streams all entities matching a query, hydrating rows lazily.
+   *
+   * <p>Rows are fetched from the database {@link VoltSettings#getFetchSize()} at a time,
+   * so the heap stays flat regardless of the result size. The stream holds an open statement
+   * and must be closed, ideally with try-with-resources, before the transaction ends:</p>
+   *
+   * <pre>{@code
+   * Result<Stream<User>, VoltError> result = tx.stream(User.class, Query.where("active").eq(true));
+   *
+   * try (Stream<User> users = result.getValue()) {
+   *     users.forEach(exporter::write);
+   * }
+   * }</pre>
+   *
+   * <p>Database errors raised while the stream is consumed are thrown as
+   * {@link me.oskarscot.volt.exception.VoltException}.</p>
+   *
+   * @param type the entity class
+   * @param query the query to execute
+   * @param <T> the entity type
+   * @return a result containing a lazily populated stream, or an error if the query failed
+   * @see Query
+   */
+  @NotNull
+  <T> Result<Stream<T>, VoltError> stream(@NotNull Class<T> type, @NotNull Query query);
+
+  /**
+   * Streams all entities of a given type, hydrating rows lazily.
+   *
+   * @param type the entity class
+   * @param <T> the entity type
+   * @return a result containing a lazily populated stream, or an error if the query failed
+   * @see #stream(Class, Query)
+   */
+  @NotNull
+  <T> Result<Stream<T>, VoltError> streamAll(@NotNull Class<T> type);
+
   /**
    * Deletes an entity from the database.
    *
@@ -164,6 +382,38 @@ public interface Transaction extends AutoCloseable {
   @NotNull
   <T> Result<Void, VoltError> delete(@NotNull T entity);
 
+  /**
+   * Deletes many entities by primary key using JDBC statement batching.
+   *
+   * <p>Unlike {@link #delete(Object)}, entities that no longer exist are not treated as an error;
+   * the returned count reflects the rows actually deleted.</p>
+   *
+   * @param entities the entities to delete (each must have a non-null primary key)
+   * @return a result containing the number of rows deleted, or an error if the operation failed
+   */
+  @NotNull
+  Result<Long, VoltError> deleteAll(@NotNull Iterable<?> entities);
+
+  /**
+   * Deletes many entities by primary key using JDBC statement batching, consuming the iterator lazily.
+   *
+   * @param entities the entities to delete (each must have a non-null primary key)
+   * @return a result containing the number of rows deleted, or an error if the operation failed
+   * @see #deleteAll(Iterable)
+   */
+  @NotNull
+  Result<Long, VoltError> deleteAll(@NotNull Iterator<?> entities);
+
+  /**
+   * Deletes many entities by primary key using JDBC statement batching, consuming the stream lazily.
+   *
+   * @param entities the entities to delete (each must have a non-null primary key)
+   * @return a result containing the number of rows deleted, or an error if the operation failed
+   * @see #deleteAll(Iterable)
+   */
+  @NotNull
+  Result<Long, VoltError> deleteAll(@NotNull Stream<?> entities);
+
   /**
    * Deletes an entity by its primary key.
    *
@@ -175,6 +425,48 @@ public interface Transaction extends AutoCloseable {
   @NotNull
   <T> Result<Void, VoltError> deleteById(@NotNull Class<T> type, @NotNull Object id);
 
+  /**
+   * Deletes every entity matching a query with a single set-based statement.
+   *
+   * <p>No entities are loaded. A query without conditions, such as {@link Query#all()},
+   * deletes every row of the table. ORDER BY and LIMIT are ignored.</p>
+   *
+   * <pre>{@code
+   * Result<Long, VoltError> result = tx.deleteBy(Session.class, Query.where("expires_at").lt(now));
+   * }</pre>
+   *
+   * @param type the entity class
+   * @param query the query selecting the rows to delete
+   * @param <T> the entity type
+   * @return a result containing the number of rows deleted, or an error on failure
+   * @see Query
+   */
+  @NotNull
+  <T> Result<Long, VoltError> deleteBy(@NotNull Class<T> type, @NotNull Query query);
+
+  /**
+   * Updates every entity matching a query with a single set-based statement.
+   *
+   * <p>Assignments are keyed by column name, like query conditions, and may assign
+   * {@code null}. No entities are loaded. A query without conditions updates every row
+   * of the table. ORDER BY and LIMIT are ignored.</p>
+   *
+   * <pre>{@code
+   * Result<Long, VoltError> result =
+   *     tx.updateBy(User.class, Query.where("last_login").lt(cutoff), Map.of("active", false));
+   * }</pre>
+   *
+   * @param type the entity class
+   * @param query the query selecting the rows to update
+   * @param assignments the new values, keyed by column name
+   * @param <T> the entity type
+   * @return a result containing the number of rows updated, or an error on failure
+   * @see Query
+   */
+  @NotNull
+  <T> Result<Long, VoltError> updateBy(
+      @NotNull Class<T> type, @NotNull Query query, @NotNull Map<String, Object> assignments);
+
   /**
    * Commits the transaction, making all changes permanent.
    *
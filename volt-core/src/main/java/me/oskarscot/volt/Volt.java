@@ -4,6 +4,9 @@ import me.oskarscot.volt.converter.BidirectionalTypeConverter;
 import me.oskarscot.volt.exception.VoltError;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Volt is a lightweight Java ORM.
  *
@@ -68,6 +71,28 @@ public interface Volt {
   @NotNull
   Transaction beginTransaction();
 
+  /**
+   * Begins a new read-only transaction.
+   *
+   * <p>If Volt was created with read replicas, the transaction runs on a replica picked by
+   * the {@linkplain VoltSettings#getLoadBalancingPolicy() load balancing policy}, unless the
+   * calling thread is within its {@linkplain VoltSettings#getReadYourWritesWindow()
+   * read-your-writes window}; otherwise it runs on the primary. Replicas may lag behind the
+   * primary, so reads can be slightly stale. The connection is marked read-only, so the
+   * database rejects writes.</p>
+   *
+   * <pre>{@code
+   * try (Transaction tx = volt.beginReadOnlyTransaction()) {
+   *     List<Order> orders = tx.findAllBy(Order.class, Query.where("status").eq("OPEN")).getValue();
+   * }
+   * }</pre>
+   *
+   * @return a new read-only transaction
+   * @throws RuntimeException if a connection cannot be acquired
+   */
+  @NotNull
+  Transaction beginReadOnlyTransaction();
+
   /**
    * Tests the database connection.
    *
@@ -78,8 +103,10 @@ public interface Volt {
   /**
    * Finds an entity by its primary key.
    *
-   * <p>This is a convenience method that creates a short-lived transaction internally.
-   * For multiple operations, use {@link #beginTransaction()} instead.</p>
+   * <p>This is a convenience method that creates a short-lived
+   * {@linkplain #beginReadOnlyTransaction() read-only transaction} internally, so it is
+   * served by a read replica if any are configured. For multiple operations, use
+   * {@link #beginTransaction()} instead.</p>
    *
    * @param type the entity class
    * @param id the primary key value
@@ -117,4 +144,58 @@ public interface Volt {
    */
   @NotNull
   <T> Result<Void, VoltError> delete(@NotNull T entity);
-}
\ No newline at end of file
+
+  /**
+   * Loads a large number of entities through PostgreSQL's {@code COPY ... FROM STDIN}.
+   *
+   * <p>This is an order of magnitude faster than {@link #save(Object)} or
+   * {@link Transaction#saveAll(Stream)} for large backfills. Entities are encoded with the
+   * registered converters in the entity's column order and streamed to the server in chunks,
+   * so the input is never held in memory as a whole. The load runs in its own transaction
+   * and is committed only if every row was copied.</p>
+   *
+   * <p>Rows are always inserted: generated {@link me.oskarscot.volt.entity.PrimaryKeyType#NUMBER}
+   * keys are left to the database and are not assigned back to the entities. Once the load
+   * commits, the type's cached rows and {@link me.oskarscot.volt.query.Query#cached() cached
+   * query results} are discarded. Requires the PostgreSQL JDBC driver.</p>
+   *
+   * @param type the entity class
+   * @param entities the entities to load; the stream is closed when loading finishes
+   * @param <T> the entity type
+   * @return a result containing the row count and throughput, or an error if the load failed
+   */
+  @NotNull
+  <T> Result<BulkLoadResult, VoltError> bulkLoad(@NotNull Class<T> type, @NotNull Stream<T> entities);
+
+  /**
+   * Returns the second-level cache counters of a {@link me.oskarscot.volt.annotation.Cacheable}
+   * entity.
+   *
+   * @param type the entity class
+   * @return the cache counters, or empty if the entity is not cacheable
+   */
+  @NotNull
+  Optional<CacheStats> getCacheStats(@NotNull Class<?> type);
+
+  /**
+   * Returns the prepared statement cache counters accumulated by all transactions so far.
+   *
+   * @return a snapshot of the statement cache hits, misses and evictions
+   * @see VoltSettings#getStatementCacheSize()
+   */
+  @NotNull
+  StatementCacheStats getStatementCacheStats();
+
+  /**
+   * Returns the non-blocking view of this instance.
+   *
+   * <pre>{@code
+   * CompletableFuture<Result<User, VoltError>> user = volt.async().findByIdAsync(User.class, 1L);
+   * }</pre>
+   *
+   * @return the asynchronous API, shared by all callers
+   * @see VoltSettings.Builder#asyncExecutor(java.util.concurrent.Executor)
+   */
+  @NotNull
+  AsyncVolt async();
+}
@@ -2,6 +2,9 @@ package me.oskarscot.volt;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import me.oskarscot.volt.connection.ConnectionProvider;
 import me.oskarscot.volt.internal.VoltImpl;
 
 public final class VoltFactory {
@@ -9,7 +12,69 @@ public final class VoltFactory {
   private VoltFactory() {}
 
   public static Volt createVolt(HikariConfig config) {
+    return createVolt(config, VoltSettings.defaults());
+  }
+
+  public static Volt createVolt(HikariConfig config, VoltSettings settings) {
     HikariDataSource dataSource = new HikariDataSource(config);
-    return new VoltImpl(dataSource);
+    return new VoltImpl(dataSource, settings);
+  }
+
+  /**
+   * Creates a Volt instance on connections from the given provider, for example any
+   * {@link javax.sql.DataSource} through {@link ConnectionProvider#of(javax.sql.DataSource)}
+   * or a {@link me.oskarscot.volt.connection.VirtualThreadPool}.
+   */
+  public static Volt createVolt(ConnectionProvider connectionProvider) {
+    return createVolt(connectionProvider, VoltSettings.defaults());
+  }
+
+  public static Volt createVolt(ConnectionProvider connectionProvider, VoltSettings settings) {
+    return new VoltImpl(connectionProvider, settings);
+  }
+
+  /**
+   * Creates a Volt instance that writes to a primary and serves read-only transactions from
+   * read replicas, each with its own connection pool.
+   *
+   * <pre>{@code
+   * Volt volt = VoltFactory.createVolt(primaryConfig, List.of(replicaConfig1, replicaConfig2),
+   *     VoltSettings.builder()
+   *         .loadBalancingPolicy(LoadBalancingPolicy.leastInFlight())
+   *         .readYourWrites(Duration.ofSeconds(1))
+   *         .build());
+   * }</pre>
+   *
+   * @see Volt#beginReadOnlyTransaction()
+   */
+  public static Volt createVolt(HikariConfig primary, List<HikariConfig> replicas) {
+    return createVolt(primary, replicas, VoltSettings.defaults());
+  }
+
+  public static Volt createVolt(
+      HikariConfig primary, List<HikariConfig> replicas, VoltSettings settings) {
+    List<HikariDataSource> started = new ArrayList<>();
+    try {
+      List<ConnectionProvider> replicaProviders = new ArrayList<>();
+      for (HikariConfig replica : replicas) {
+        HikariDataSource dataSource = new HikariDataSource(replica);
+        started.add(dataSource);
+        replicaProviders.add(ConnectionProvider.of(dataSource));
+      }
+      HikariDataSource primaryDataSource = new HikariDataSource(primary);
+      started.add(primaryDataSource);
+      return createVolt(ConnectionProvider.of(primaryDataSource), replicaProviders, settings);
+    } catch (RuntimeException e) {
+      // don't leak the pools that did start
+      for (HikariDataSource dataSource : started) {
+        dataSource.close();
+      }
+      throw e;
+    }
+  }
+
+  public static Volt createVolt(
+      ConnectionProvider primary, List<ConnectionProvider> replicas, VoltSettings settings) {
+    return new VoltImpl(primary, List.copyOf(replicas), settings);
   }
 }
@@ -0,0 +1,472 @@
+package me.oskarscot.volt;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import me.oskarscot.volt.connection.LoadBalancingPolicy;
+import me.oskarscot.volt.metrics.SlowQueryLog;
+import me.oskarscot.volt.metrics.VoltListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tuning options for a {@link Volt} instance.
+ *
+ * <p>All options have sensible defaults, so only the ones that matter need to be set:</p>
+ * <pre>{@code
+ * VoltSettings settings = VoltSettings.builder()
+ *     .batchSize(1000)
+ *     .build();
+ *
+ * Volt volt = VoltFactory.createVolt(config, settings);
+ * }</pre>
+ *
+ * @see VoltFactory#createVolt(com.zaxxer.hikari.HikariConfig, VoltSettings)
+ */
+public final class VoltSettings {
+
+  /** The default number of rows sent per JDBC batch. */
+  public static final int DEFAULT_BATCH_SIZE = 500;
+
+  /** The default bind parameter limit of a single statement, as enforced by PostgreSQL. */
+  public static final int DEFAULT_MAX_BIND_PARAMETERS = 65535;
+
+  /** The default number of rows fetched per round trip by streaming queries. */
+  public static final int DEFAULT_FETCH_SIZE = 1000;
+
+  /** The default number of prepared statements cached per transaction. */
+  public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+  private final int batchSize;
+  private final BatchStrategy batchStrategy;
+  private final int maxBindParameters;
+  private final int fetchSize;
+  private final int statementCacheSize;
+  private final boolean dirtyChecking;
+  private final boolean identityMap;
+  private final Executor asyncExecutor;
+  private final int asyncConcurrency;
+  private final VoltListener listener;
+  private final SlowQueryLog slowQueryLog;
+  private final LoadBalancingPolicy loadBalancingPolicy;
+  private final Duration readYourWritesWindow;
+
+  private VoltSettings(Builder builder) {
+    this.batchSize = builder.batchSize;
+    this.batchStrategy = builder.batchStrategy;
+    this.maxBindParameters = builder.maxBindParameters;
+    this.fetchSize = builder.fetchSize;
+    this.statementCacheSize = builder.statementCacheSize;
+    this.dirtyChecking = builder.dirtyChecking;
+    this.identityMap = builder.identityMap;
+    this.asyncExecutor = builder.asyncExecutor;
+    this.asyncConcurrency = builder.asyncConcurrency;
+    this.listener = builder.listener;
+    this.slowQueryLog = builder.slowQueryLog;
+    this.loadBalancingPolicy = builder.loadBalancingPolicy;
+    this.readYourWritesWindow = builder.readYourWritesWindow;
+  }
+
+  /**
+   * Returns the default settings.
+   *
+   * @return settings with every option at its default value
+   */
+  @NotNull
+  public static VoltSettings defaults() {
+    return builder().build();
+  }
+
+  /**
+   * Creates a new settings builder.
+   *
+   * @return a builder initialized with the default values
+   */
+  @NotNull
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the maximum number of rows sent to the database in a single JDBC batch
+   * by {@link Transaction#saveAll(Iterable)} and {@link Transaction#deleteAll(Iterable)}.
+   *
+   * @return the batch size
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Returns how batched inserts and upserts are sent to the database.
+   *
+   * @return the batch strategy
+   */
+  @NotNull
+  public BatchStrategy getBatchStrategy() {
+    return batchStrategy;
+  }
+
+  /**
+   * Returns the maximum number of bind parameters in a single statement.
+   *
+   * @return the bind parameter limit
+   */
+  public int getMaxBindParameters() {
+    return maxBindParameters;
+  }
+
+  /**
+   * Returns the number of rows fetched per round trip by {@link Transaction#stream(Class, me.oskarscot.volt.query.Query)}
+   * and {@link Transaction#streamAll(Class)}.
+   *
+   * @return the fetch size
+   */
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  /**
+   * Returns the maximum number of prepared statements a transaction keeps open for reuse.
+   *
+   * @return the statement cache size, or {@code 0} if statement caching is disabled
+   */
+  public int getStatementCacheSize() {
+    return statementCacheSize;
+  }
+
+  /**
+   * Returns whether transactions track loaded entities so that {@link Transaction#save(Object)}
+   * only updates the columns that changed.
+   *
+   * @return {@code true} if dirty checking is enabled
+   */
+  public boolean isDirtyChecking() {
+    return dirtyChecking;
+  }
+
+  /**
+   * Returns whether each transaction hands out a single instance per entity and primary key.
+   *
+   * @return {@code true} if the identity map is enabled
+   */
+  public boolean isIdentityMap() {
+    return identityMap;
+  }
+
+  /**
+   * Returns the executor that runs {@link AsyncVolt} operations.
+   *
+   * @return the executor, or {@code null} to start a virtual thread per operation
+   */
+  @Nullable
+  public Executor getAsyncExecutor() {
+    return asyncExecutor;
+  }
+
+  /**
+   * Returns the maximum number of {@link AsyncVolt} operations running at once.
+   *
+   * @return the concurrency limit, or {@code 0} to use the connection pool's maximum size
+   */
+  public int getAsyncConcurrency() {
+    return asyncConcurrency;
+  }
+
+  /**
+   * Returns the listener that receives timing and count events.
+   *
+   * @return the listener, {@link VoltListener#NOOP} if instrumentation is disabled
+   */
+  @NotNull
+  public VoltListener getListener() {
+    return listener;
+  }
+
+  /**
+   * Returns the slow query log.
+   *
+   * @return the slow query log, or {@code null} if it is disabled
+   */
+  @Nullable
+  public SlowQueryLog getSlowQueryLog() {
+    return slowQueryLog;
+  }
+
+  /**
+   * Returns the policy that picks the replica for each read-only transaction.
+   *
+   * @return the load balancing policy
+   */
+  @NotNull
+  public LoadBalancingPolicy getLoadBalancingPolicy() {
+    return loadBalancingPolicy;
+  }
+
+  /**
+   * Returns how long read-only work stays on the primary after a thread commits a read-write
+   * transaction.
+   *
+   * @return the read-your-writes window, {@link Duration#ZERO} if disabled
+   */
+  @NotNull
+  public Duration getReadYourWritesWindow() {
+    return readYourWritesWindow;
+  }
+
+  /**
+   * Builder for {@link VoltSettings}.
+   */
+  public static final class Builder {
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private BatchStrategy batchStrategy = BatchStrategy.JDBC_BATCH;
+    private int maxBindParameters = DEFAULT_MAX_BIND_PARAMETERS;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+    private boolean dirtyChecking = true;
+    private boolean identityMap = true;
+    private Executor asyncExecutor;
+    private int asyncConcurrency;
+    private VoltListener listener = VoltListener.NOOP;
+    private SlowQueryLog slowQueryLog;
+    private LoadBalancingPolicy loadBalancingPolicy = LoadBalancingPolicy.roundRobin();
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+    private Builder() {}
+
+    /**
+     * Sets the maximum number of rows sent to the database in a single JDBC batch.
+     *
+     * @param batchSize the batch size, must be positive
+     * @return this builder
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    @NotNull
+    public Builder batchSize(int batchSize) {
+      if (batchSize <= 0) {
+        throw new IllegalArgumentException("Batch size must be positive");
+      }
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Sets how batched inserts and upserts are sent to the database.
+     *
+     * @param batchStrategy the batch strategy
+     * @return this builder
+     */
+    @NotNull
+    public Builder batchStrategy(@NotNull BatchStrategy batchStrategy) {
+      this.batchStrategy = Objects.requireNonNull(batchStrategy, "Batch strategy cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of bind parameters in a single statement.
+     *
+     * <p>Only needs changing for drivers with a lower limit than PostgreSQL's.</p>
+     *
+     * @param maxBindParameters the bind parameter limit, must be positive
+     * @return this builder
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    @NotNull
+    public Builder maxBindParameters(int maxBindParameters) {
+      if (maxBindParameters <= 0) {
+        throw new IllegalArgumentException("Max bind parameters must be positive");
+      }
+      this.maxBindParameters = maxBindParameters;
+      return this;
+    }
+
+    /**
+     * Sets the number of rows fetched per round trip by streaming queries.
+     *
+     * <p>With PostgreSQL, a positive fetch size inside a transaction makes the driver read
+     * through a server-side cursor instead of loading the whole result into memory.</p>
+     *
+     * @param fetchSize the fetch size, must be positive
+     * @return this builder
+     * @throws IllegalArgumentException if the fetch size is not positive
+     */
+    @NotNull
+    public Builder fetchSize(int fetchSize) {
+      if (fetchSize <= 0) {
+        throw new IllegalArgumentException("Fetch size must be positive");
+      }
+      this.fetchSize = fetchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of prepared statements a transaction keeps open for reuse.
+     *
+     * <p>Statements are cached by SQL text for the lifetime of the transaction, least
+     * recently used first out. Reusing a statement lets PostgreSQL switch to a server-side
+     * prepared statement after a few executions, skipping parsing and planning.</p>
+     *
+     * @param statementCacheSize the cache size, or {@code 0} to disable caching
+     * @return this builder
+     * @throws IllegalArgumentException if the cache size is negative
+     */
+    @NotNull
+    public Builder statementCacheSize(int statementCacheSize) {
+      if (statementCacheSize < 0) {
+        throw new IllegalArgumentException("Statement cache size cannot be negative");
+      }
+      this.statementCacheSize = statementCacheSize;
+      return this;
+    }
+
+    /**
+     * Sets whether transactions track loaded entities so that {@link Transaction#save(Object)}
+     * only updates the columns that changed.
+     *
+     * <p>Enabled by default. Each entity loaded or saved through a transaction keeps a
+     * snapshot of its column values until the transaction ends, which costs memory in
+     * transactions that load many rows without saving them; streamed rows are never
+     * tracked.</p>
+     *
+     * @param dirtyChecking {@code true} to enable dirty checking
+     * @return this builder
+     */
+    @NotNull
+    public Builder dirtyChecking(boolean dirtyChecking) {
+      this.dirtyChecking = dirtyChecking;
+      return this;
+    }
+
+    /**
+     * Sets whether each transaction hands out a single instance per entity and primary key.
+     *
+     * <p>Enabled by default. {@link Transaction#findById(Class, Object)} and
+     * {@link Transaction#findAllById(Class, java.util.Collection)} then answer repeated
+     * lookups from memory, and queries return the already loaded instance for rows the
+     * transaction has seen, keeping any unsaved changes. Streamed rows are never managed.</p>
+     *
+     * @param identityMap {@code true} to enable the identity map
+     * @return this builder
+     */
+    @NotNull
+    public Builder identityMap(boolean identityMap) {
+      this.identityMap = identityMap;
+      return this;
+    }
+
+    /**
+     * Sets the executor that runs {@link AsyncVolt} operations.
+     *
+     * <p>By default every operation gets its own virtual thread. Operations waiting for the
+     * {@link #asyncConcurrency(int) concurrency limit} block their executor thread, so a
+     * bounded platform thread pool should be at least as large as the limit.</p>
+     *
+     * @param asyncExecutor the executor
+     * @return this builder
+     */
+    @NotNull
+    public Builder asyncExecutor(@NotNull Executor asyncExecutor) {
+      this.asyncExecutor = Objects.requireNonNull(asyncExecutor, "Async executor cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of {@link AsyncVolt} operations running at once.
+     *
+     * <p>Defaults to the connection provider's
+     * {@linkplain me.oskarscot.volt.connection.ConnectionProvider#getMaxConnections() maximum
+     * connection count}, so that waiting happens in Volt rather than in the pool, where it
+     * would count against the connection timeout.</p>
+     *
+     * @param asyncConcurrency the concurrency limit, must be positive
+     * @return this builder
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    @NotNull
+    public Builder asyncConcurrency(int asyncConcurrency) {
+      if (asyncConcurrency <= 0) {
+        throw new IllegalArgumentException("Async concurrency must be positive");
+      }
+      this.asyncConcurrency = asyncConcurrency;
+      return this;
+    }
+
+    /**
+     * Sets the listener that receives timing and count events, such as a
+     * {@link me.oskarscot.volt.metrics.VoltMetrics}.
+     *
+     * <p>Disabled by default; transactions then skip all timing.</p>
+     *
+     * @param listener the listener
+     * @return this builder
+     */
+    @NotNull
+    public Builder listener(@NotNull VoltListener listener) {
+      this.listener = Objects.requireNonNull(listener, "Listener cannot be null");
+      return this;
+    }
+
+    /**
+     * Enables the slow query log, which runs alongside any {@link #listener(VoltListener)}.
+     *
+     * <p>Disabled by default, in which case no SQL is tracked and no bind values are
+     * captured.</p>
+     *
+     * @param slowQueryLog the slow query log
+     * @return this builder
+     */
+    @NotNull
+    public Builder slowQueryLog(@NotNull SlowQueryLog slowQueryLog) {
+      this.slowQueryLog = Objects.requireNonNull(slowQueryLog, "Slow query log cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the policy that picks the replica for each read-only transaction. Only applies
+     * when Volt is created with replicas.
+     *
+     * <p>Defaults to {@link LoadBalancingPolicy#roundRobin()}.</p>
+     *
+     * @param loadBalancingPolicy the policy
+     * @return this builder
+     */
+    @NotNull
+    public Builder loadBalancingPolicy(@NotNull LoadBalancingPolicy loadBalancingPolicy) {
+      this.loadBalancingPolicy =
+          Objects.requireNonNull(loadBalancingPolicy, "Load balancing policy cannot be null");
+      return this;
+    }
+
+    /**
+     * Keeps read-only work on the primary for a while after a thread commits a read-write
+     * transaction, so that the thread reads its own writes even while replicas lag behind.
+     * Only applies when Volt is created with replicas.
+     *
+     * <p>Disabled by default. The window is tracked per thread, so it does not carry over to
+     * {@link AsyncVolt} operations, which run on other threads.</p>
+     *
+     * @param readYourWritesWindow the window, at least the replicas' usual lag
+     * @return this builder
+     * @throws IllegalArgumentException if the window is negative
+     */
+    @NotNull
+    public Builder readYourWrites(@NotNull Duration readYourWritesWindow) {
+      if (readYourWritesWindow.isNegative()) {
+        throw new IllegalArgumentException("Read-your-writes window cannot be negative");
+      }
+      this.readYourWritesWindow = readYourWritesWindow;
+      return this;
+    }
+
+    /**
+     * Builds the settings.
+     *
+     * @return the settings
+     */
+    @NotNull
+    public VoltSettings build() {
+      return new VoltSettings(this);
+    }
+  }
+}
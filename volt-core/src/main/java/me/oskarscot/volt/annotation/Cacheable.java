@@ -0,0 +1,28 @@
+package me.oskarscot.volt.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches an entity's rows by primary key across transactions, in front of
+ * {@code findById}, {@code findAllById} and {@code existsById}.
+ *
+ * <p>Entries expire {@link #ttl()} after they are loaded, the oldest entries are evicted
+ * beyond {@link #maxEntries()}, and an entity's entry is invalidated whenever it is saved,
+ * deleted or bulk loaded through Volt. Writes made outside Volt are only picked up once entries expire.</p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+  long ttl() default 300;
+
+  TimeUnit unit() default TimeUnit.SECONDS;
+
+  int maxEntries() default 10_000;
+
+  /** Whether lookups of keys with no row are cached too. */
+  boolean cacheMisses() default false;
+}
@@ -0,0 +1,82 @@
+package me.oskarscot.volt.connection;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Supplies the JDBC connections a {@link me.oskarscot.volt.Volt} instance works with.
+ *
+ * <p>Volt closes every connection it obtains once it is done with it, so pooled providers
+ * should hand out connections whose {@link Connection#close()} returns them to the pool,
+ * as {@link DataSource} based pools do. Connections are always returned with auto-commit
+ * enabled.</p>
+ *
+ * <pre>{@code
+ * Volt volt = VoltFactory.createVolt(ConnectionProvider.of(dataSource));
+ * }</pre>
+ *
+ * @see VirtualThreadPool
+ */
+public interface ConnectionProvider extends AutoCloseable {
+
+  /**
+   * The maximum connection count assumed for data sources that do not report one, matching
+   * HikariCP's default pool size.
+   */
+  int DEFAULT_MAX_CONNECTIONS = 10;
+
+  /**
+   * Obtains a connection, waiting for one to become available if necessary.
+   *
+   * @return an open connection
+   * @throws SQLException if no connection could be obtained
+   */
+  @NotNull
+  Connection getConnection() throws SQLException;
+
+  /**
+   * Returns the maximum number of connections that can be open at once, used to size
+   * {@link me.oskarscot.volt.AsyncVolt}'s concurrency limit.
+   *
+   * @return the maximum number of connections
+   */
+  int getMaxConnections();
+
+  /**
+   * Closes the provider and the connections it holds. Does nothing by default.
+   */
+  @Override
+  default void close() {}
+
+  /**
+   * Creates a provider backed by a data source. The maximum connection count is read from
+   * HikariCP data sources and assumed to be {@link #DEFAULT_MAX_CONNECTIONS} otherwise.
+   *
+   * @param dataSource the data source
+   * @return a provider for the data source
+   */
+  @NotNull
+  static ConnectionProvider of(@NotNull DataSource dataSource) {
+    int maxConnections =
+        dataSource instanceof HikariDataSource hikari
+            ? hikari.getMaximumPoolSize()
+            : DEFAULT_MAX_CONNECTIONS;
+    return of(dataSource, maxConnections);
+  }
+
+  /**
+   * Creates a provider backed by a data source.
+   *
+   * @param dataSource the data source
+   * @param maxConnections the maximum number of connections the data source can supply
+   * @return a provider for the data source
+   * @throws IllegalArgumentException if the connection count is not positive
+   */
+  @NotNull
+  static ConnectionProvider of(@NotNull DataSource dataSource, int maxConnections) {
+    return new DataSourceConnectionProvider(dataSource, maxConnections);
+  }
+}
@@ -0,0 +1,46 @@
+package me.oskarscot.volt.connection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Adapts a {@link DataSource} to {@link ConnectionProvider}. Closing the provider closes the
+ * data source if it is {@link AutoCloseable}, as HikariCP's is.
+ */
+final class DataSourceConnectionProvider implements ConnectionProvider {
+
+  private final DataSource dataSource;
+  private final int maxConnections;
+
+  DataSourceConnectionProvider(@NotNull DataSource dataSource, int maxConnections) {
+    if (maxConnections <= 0) {
+      throw new IllegalArgumentException("Max connections must be positive");
+    }
+    this.dataSource = Objects.requireNonNull(dataSource, "Data source cannot be null");
+    this.maxConnections = maxConnections;
+  }
+
+  @Override
+  public @NotNull Connection getConnection() throws SQLException {
+    return dataSource.getConnection();
+  }
+
+  @Override
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  @Override
+  public void close() {
+    if (dataSource instanceof AutoCloseable closeable) {
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        throw new IllegalStateException("Failed to close data source: " + e.getMessage(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package me.oskarscot.volt.connection;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Picks the replica a read-only transaction runs on.
+ *
+ * <p>Called once per read-only transaction from any thread, so implementations must be
+ * thread-safe and cheap. Returning a replica that then fails to supply a connection sends
+ * the transaction to the primary instead.</p>
+ *
+ * <pre>{@code
+ * VoltSettings settings = VoltSettings.builder()
+ *     .loadBalancingPolicy(LoadBalancingPolicy.leastInFlight())
+ *     .build();
+ * }</pre>
+ *
+ * @see me.oskarscot.volt.VoltSettings.Builder#loadBalancingPolicy(LoadBalancingPolicy)
+ */
+@FunctionalInterface
+public interface LoadBalancingPolicy {
+
+  /**
+   * Picks a replica.
+   *
+   * @param replicas the configured replicas, never empty
+   * @return one of the given replicas
+   */
+  @NotNull
+  Replica choose(@NotNull List<Replica> replicas);
+
+  /**
+   * Cycles through the replicas in order.
+   *
+   * @return a new round robin policy
+   */
+  @NotNull
+  static LoadBalancingPolicy roundRobin() {
+    AtomicInteger next = new AtomicInteger();
+    return replicas -> replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+  }
+
+  /**
+   * Picks the replica with the fewest open read-only transactions, which adapts to replicas
+   * of different speed. Ties are broken round robin.
+   *
+   * @return a new least-in-flight policy
+   */
+  @NotNull
+  static LoadBalancingPolicy leastInFlight() {
+    AtomicInteger next = new AtomicInteger();
+    return replicas -> {
+      int size = replicas.size();
+      int start = Math.floorMod(next.getAndIncrement(), size);
+      Replica best = replicas.get(start);
+      for (int i = 1; i < size && best.getInFlight() > 0; i++) {
+        Replica candidate = replicas.get((start + i) % size);
+        if (candidate.getInFlight() < best.getInFlight()) {
+          best = candidate;
+        }
+      }
+      return best;
+    };
+  }
+}
@@ -0,0 +1,22 @@
+package me.oskarscot.volt.connection;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A read replica as seen by a {@link LoadBalancingPolicy}.
+ */
+public interface Replica {
+
+  /**
+   * Returns the replica's position in the list it was configured with.
+   */
+  int getIndex();
+
+  /**
+   * Returns the number of read-only transactions currently open on the replica.
+   */
+  int getInFlight();
+
+  @NotNull
+  ConnectionProvider getProvider();
+}
@@ -0,0 +1,498 @@
+package me.oskarscot.volt.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A small connection pool for applications that run on virtual threads.
+ *
+ * <p>Waiting for a connection parks on a fair {@link Semaphore} instead of a monitor, so a
+ * virtual thread never pins its carrier while the pool is exhausted, and waiters are served
+ * strictly in arrival order, so none starve under sustained load. Waiting is bounded by the
+ * {@linkplain Builder#acquireTimeout(Duration) acquire timeout}.</p>
+ *
+ * <p>Connections are opened on demand up to the maximum size and kept open once returned.
+ * The most recently returned connection is handed out first, and one that sat idle for
+ * longer than the {@linkplain Builder#validationInterval(Duration) validation interval} is
+ * checked with {@link Connection#isValid(int)} before reuse. Returned connections are rolled
+ * back and their auto-commit, read-only, isolation and schema settings restored to what they
+ * were when the connection was opened, so borrowers never see each other's session state.</p>
+ *
+ * <pre>{@code
+ * VirtualThreadPool pool = VirtualThreadPool.builder()
+ *     .jdbcUrl("jdbc:postgresql://localhost:5432/mydb")
+ *     .username("user")
+ *     .password("password")
+ *     .maxSize(20)
+ *     .build();
+ *
+ * Volt volt = VoltFactory.createVolt(pool);
+ * }</pre>
+ */
+public final class VirtualThreadPool implements ConnectionProvider {
+
+  /** The default maximum number of open connections. */
+  public static final int DEFAULT_MAX_SIZE = DEFAULT_MAX_CONNECTIONS;
+
+  /** The default maximum time to wait for a connection. */
+  public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(30);
+
+  /** The default idle time after which a connection is validated before reuse. */
+  public static final Duration DEFAULT_VALIDATION_INTERVAL = Duration.ofSeconds(30);
+
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+  private final Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final ConnectionFactory factory;
+  private final int maxSize;
+  private final long acquireTimeoutNanos;
+  private final long validationIntervalNanos;
+
+  private final Semaphore permits;
+  private final Deque<Idle> idle = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger open = new AtomicInteger();
+  private volatile boolean closed;
+
+  private VirtualThreadPool(Builder builder) {
+    this.factory = builder.factory();
+    this.maxSize = builder.maxSize;
+    this.acquireTimeoutNanos = builder.acquireTimeout.toNanos();
+    this.validationIntervalNanos = builder.validationInterval.toNanos();
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Creates a new pool builder.
+   *
+   * @return a builder initialized with the default values
+   */
+  @NotNull
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Borrows a connection, opening one if none is idle and the pool is not full. Closing the
+   * returned connection hands it back to the pool.
+   *
+   * @return a pooled connection
+   * @throws SQLTransientConnectionException if no connection became available within the
+   *     acquire timeout
+   * @throws SQLException if the pool is closed, the wait was interrupted, or a new
+   *     connection could not be opened
+   */
+  @Override
+  public @NotNull Connection getConnection() throws SQLException {
+    if (closed) {
+      throw new SQLException("Connection pool is closed");
+    }
+
+    try {
+      if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException(
+            "Timed out after " + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos)
+                + " ms waiting for a connection, all " + maxSize + " are in use");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a connection", e);
+    }
+
+    try {
+      Physical physical = takeIdle();
+      if (physical == null) {
+        physical = openPhysical();
+      }
+      return wrap(physical);
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public int getMaxConnections() {
+    return maxSize;
+  }
+
+  /**
+   * Returns the number of physical connections currently open, idle or in use.
+   *
+   * @return the open connection count
+   */
+  public int getOpenConnections() {
+    return open.get();
+  }
+
+  /**
+   * Returns the number of open connections waiting in the pool.
+   *
+   * @return the idle connection count
+   */
+  public int getIdleConnections() {
+    return idle.size();
+  }
+
+  /**
+   * Returns an estimate of the number of threads waiting for a connection.
+   *
+   * @return the waiting thread count
+   */
+  public int getWaitingThreads() {
+    return permits.getQueueLength();
+  }
+
+  /**
+   * Closes every idle connection and makes connections in use close when they are returned.
+   * Later calls to {@link #getConnection()} fail.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    Idle next;
+    while ((next = idle.pollFirst()) != null) {
+      discard(next.physical().connection());
+    }
+  }
+
+  @Nullable
+  private Physical takeIdle() {
+    Idle next;
+    while ((next = idle.pollFirst()) != null) {
+      Physical physical = next.physical();
+      boolean recent = System.nanoTime() - next.since() < validationIntervalNanos;
+      if (recent || isValid(physical.connection())) {
+        return physical;
+      }
+      discard(physical.connection());
+    }
+    return null;
+  }
+
+  /**
+   * Opens a physical connection and records the session settings it is reset to whenever it
+   * is returned.
+   */
+  private Physical openPhysical() throws SQLException {
+    Connection connection = factory.open();
+    open.incrementAndGet();
+    try {
+      return new Physical(
+          connection,
+          connection.isReadOnly(),
+          connection.getTransactionIsolation(),
+          schemaOf(connection));
+    } catch (SQLException | RuntimeException e) {
+      discard(connection);
+      throw e;
+    }
+  }
+
+  @Nullable
+  private static String schemaOf(Connection connection) {
+    try {
+      return connection.getSchema();
+    } catch (SQLException | AbstractMethodError e) {
+      // Drivers without schema support leave it untracked
+      return null;
+    }
+  }
+
+  private boolean isValid(Connection connection) {
+    try {
+      return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Takes a connection back from a borrower. It is rolled back, reset to the settings it was
+   * opened with and made available before the borrower's permit is released, so that the next
+   * waiter finds it idle. A connection that cannot be reset is discarded.
+   */
+  private void giveBack(Physical physical) {
+    Connection connection = physical.connection();
+    try {
+      if (closed || connection.isClosed()) {
+        discard(connection);
+        return;
+      }
+      if (!connection.getAutoCommit()) {
+        connection.rollback();
+        connection.setAutoCommit(true);
+      }
+      if (connection.isReadOnly() != physical.readOnly()) {
+        connection.setReadOnly(physical.readOnly());
+      }
+      if (connection.getTransactionIsolation() != physical.isolation()) {
+        connection.setTransactionIsolation(physical.isolation());
+      }
+      if (physical.schema() != null && !physical.schema().equals(connection.getSchema())) {
+        connection.setSchema(physical.schema());
+      }
+      idle.addFirst(new Idle(physical, System.nanoTime()));
+    } catch (SQLException e) {
+      logger.warn("Discarding connection that failed to reset", e);
+      discard(connection);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void discard(Connection connection) {
+    open.decrementAndGet();
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      logger.debug("Failed to close discarded connection", e);
+    }
+  }
+
+  private Connection wrap(Physical physical) {
+    return (Connection) Proxy.newProxyInstance(
+        Connection.class.getClassLoader(),
+        new Class<?>[] {Connection.class},
+        new Borrowed(physical));
+  }
+
+  /**
+   * Forwards calls to the physical connection until the borrower closes it, which returns it
+   * to the pool exactly once.
+   *
+   * <p>{@link Connection#unwrap(Class)} for {@link Connection} or its super-interfaces yields
+   * this wrapper, so the physical connection can only be reached through vendor interfaces
+   * such as {@code PGConnection}. Every other call is forwarded reflectively; that costs far
+   * less than the database round trip behind it, but makes the pool a poor fit for tight
+   * CPU-bound loops of driver calls.</p>
+   */
+  private final class Borrowed implements InvocationHandler {
+
+    private final Physical pooled;
+    private final Connection physical;
+    private final AtomicBoolean returned = new AtomicBoolean();
+
+    private Borrowed(Physical pooled) {
+      this.pooled = pooled;
+      this.physical = pooled.connection();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (returned.compareAndSet(false, true)) {
+            giveBack(pooled);
+          }
+          return null;
+        case "isClosed":
+          return returned.get() || physical.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled" + (returned.get() ? "[returned]" : "[" + physical + "]");
+        case "unwrap":
+          if (args[0] instanceof Class<?> target && target.isInstance(proxy)) {
+            return proxy;
+          }
+          break;
+        case "isWrapperFor":
+          if (args[0] instanceof Class<?> target && target.isInstance(proxy)) {
+            return true;
+          }
+          break;
+        default:
+          break;
+      }
+
+      if (returned.get()) {
+        throw new SQLException("Connection has been returned to the pool");
+      }
+      try {
+        return method.invoke(physical, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  /**
+   * A physical connection with the session settings it was opened with.
+   */
+  private record Physical(
+      Connection connection, boolean readOnly, int isolation, @Nullable String schema) {}
+
+  private record Idle(Physical physical, long since) {}
+
+  @FunctionalInterface
+  private interface ConnectionFactory {
+
+    Connection open() throws SQLException;
+  }
+
+  /**
+   * Builder for {@link VirtualThreadPool}.
+   *
+   * <p>Connections are opened through either a {@link #dataSource(DataSource) data source}
+   * or {@link DriverManager} with a {@link #jdbcUrl(String) JDBC URL}.</p>
+   */
+  public static final class Builder {
+
+    private DataSource dataSource;
+    private String jdbcUrl;
+    private String username;
+    private String password;
+    private int maxSize = DEFAULT_MAX_SIZE;
+    private Duration acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+    private Duration validationInterval = DEFAULT_VALIDATION_INTERVAL;
+
+    private Builder() {}
+
+    /**
+     * Sets the data source that opens physical connections, typically a driver's unpooled
+     * one such as {@code PGSimpleDataSource}. Takes precedence over {@link #jdbcUrl(String)}.
+     *
+     * @param dataSource the data source
+     * @return this builder
+     */
+    @NotNull
+    public Builder dataSource(@NotNull DataSource dataSource) {
+      this.dataSource = Objects.requireNonNull(dataSource, "Data source cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the JDBC URL that physical connections are opened with.
+     *
+     * @param jdbcUrl the JDBC URL
+     * @return this builder
+     */
+    @NotNull
+    public Builder jdbcUrl(@NotNull String jdbcUrl) {
+      this.jdbcUrl = Objects.requireNonNull(jdbcUrl, "JDBC URL cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the user name for connections opened from the JDBC URL.
+     *
+     * @param username the user name
+     * @return this builder
+     */
+    @NotNull
+    public Builder username(@Nullable String username) {
+      this.username = username;
+      return this;
+    }
+
+    /**
+     * Sets the password for connections opened from the JDBC URL.
+     *
+     * @param password the password
+     * @return this builder
+     */
+    @NotNull
+    public Builder password(@Nullable String password) {
+      this.password = password;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of connections open at once.
+     *
+     * @param maxSize the maximum size, must be positive
+     * @return this builder
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    @NotNull
+    public Builder maxSize(int maxSize) {
+      if (maxSize <= 0) {
+        throw new IllegalArgumentException("Max size must be positive");
+      }
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    /**
+     * Sets how long {@link VirtualThreadPool#getConnection()} waits for a connection before
+     * failing.
+     *
+     * @param acquireTimeout the timeout, must be positive
+     * @return this builder
+     * @throws IllegalArgumentException if the timeout is not positive
+     */
+    @NotNull
+    public Builder acquireTimeout(@NotNull Duration acquireTimeout) {
+      if (acquireTimeout.isNegative() || acquireTimeout.isZero()) {
+        throw new IllegalArgumentException("Acquire timeout must be positive");
+      }
+      this.acquireTimeout = acquireTimeout;
+      return this;
+    }
+
+    /**
+     * Sets how long a connection may sit idle before it is validated on its next borrow.
+     * Validation costs a round trip, so connections in steady use skip it.
+     *
+     * @param validationInterval the interval, or {@link Duration#ZERO} to validate on every
+     *     borrow
+     * @return this builder
+     * @throws IllegalArgumentException if the interval is negative
+     */
+    @NotNull
+    public Builder validationInterval(@NotNull Duration validationInterval) {
+      if (validationInterval.isNegative()) {
+        throw new IllegalArgumentException("Validation interval cannot be negative");
+      }
+      this.validationInterval = validationInterval;
+      return this;
+    }
+
+    /**
+     * Builds the pool. No connections are opened until the first borrow.
+     *
+     * @return the pool
+     * @throws IllegalStateException if neither a data source nor a JDBC URL was set
+     */
+    @NotNull
+    public VirtualThreadPool build() {
+      if (dataSource == null && jdbcUrl == null) {
+        throw new IllegalStateException("Either a data source or a JDBC URL must be set");
+      }
+      return new VirtualThreadPool(this);
+    }
+
+    private ConnectionFactory factory() {
+      if (dataSource != null) {
+        DataSource source = dataSource;
+        return source::getConnection;
+      }
+      String url = jdbcUrl;
+      String user = username;
+      String pass = password;
+      return () -> DriverManager.getConnection(url, user, pass);
+    }
+  }
+}
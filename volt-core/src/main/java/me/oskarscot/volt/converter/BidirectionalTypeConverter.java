@@ -71,4 +71,37 @@ public interface BidirectionalTypeConverter<T> {
    */
   @Nullable
   T read(@NotNull ResultSet rs, @NotNull String column) throws SQLException;
+
+  /**
+   * Reads a value from a result set by column position.
+   *
+   * <p>Volt controls the column order of the statements it generates, so rows are hydrated
+   * positionally to avoid the driver's column label lookup for every cell. The default
+   * implementation resolves the column label and delegates to {@link #read(ResultSet, String)};
+   * implementations should override it with a direct index-based read.</p>
+   *
+   * @param rs the result set to read from
+   * @param index the column index (1-based)
+   * @return the value, or {@code null} if the column was NULL
+   * @throws SQLException if a database error occurs
+   */
+  @Nullable
+  default T read(@NotNull ResultSet rs, int index) throws SQLException {
+    return read(rs, rs.getMetaData().getColumnLabel(index));
+  }
+
+  /**
+   * Encodes a value in the database's text representation.
+   *
+   * <p>Used where values are streamed as text rather than bound as parameters, such as
+   * {@link Volt#bulkLoad(Class, java.util.stream.Stream)}. The default implementation uses
+   * {@link Object#toString()}, which suits most types.</p>
+   *
+   * @param value the value to encode (never null)
+   * @return the text representation
+   */
+  @NotNull
+  default String writeText(@NotNull T value) {
+    return value.toString();
+  }
 }
@@ -23,4 +23,14 @@ public class BigDecimalConverter implements BidirectionalTypeConverter<BigDecima
   public BigDecimal read(@NotNull ResultSet rs, @NotNull String column) throws SQLException {
     return rs.getBigDecimal(column);
   }
+
+  @Override
+  public BigDecimal read(@NotNull ResultSet rs, int index) throws SQLException {
+    return rs.getBigDecimal(index);
+  }
+
+  @Override
+  public @NotNull String writeText(@NotNull BigDecimal value) {
+    return value.toPlainString();
+  }
 }
@@ -6,7 +6,7 @@ import java.sql.SQLException;
 import java.sql.Types;
 import org.jetbrains.annotations.NotNull;
 
-public class BooleanConverter implements BidirectionalTypeConverter<Boolean> {
+public class BooleanConverter implements BooleanColumnConverter {
 
   @Override
   public void write(@NotNull PreparedStatement stmt, int index, Boolean value) throws SQLException {
@@ -22,4 +22,20 @@ public class BooleanConverter implements BidirectionalTypeConverter<Boolean> {
     boolean value = rs.getBoolean(column);
     return rs.wasNull() ? null : value;
   }
+
+  @Override
+  public Boolean read(@NotNull ResultSet rs, int index) throws SQLException {
+    boolean value = rs.getBoolean(index);
+    return rs.wasNull() ? null : value;
+  }
+
+  @Override
+  public void setBoolean(@NotNull PreparedStatement stmt, int index, boolean value) throws SQLException {
+    stmt.setBoolean(index, value);
+  }
+
+  @Override
+  public boolean getBoolean(@NotNull ResultSet rs, int index) throws SQLException {
+    return rs.getBoolean(index);
+  }
 }
@@ -6,7 +6,7 @@ import java.sql.SQLException;
 import java.sql.Types;
 import org.jetbrains.annotations.NotNull;
 
-public class DoubleConverter implements BidirectionalTypeConverter<Double> {
+public class DoubleConverter implements DoubleColumnConverter {
 
   @Override
   public void write(@NotNull PreparedStatement stmt, int index, Double value) throws SQLException {
@@ -22,4 +22,20 @@ public class DoubleConverter implements BidirectionalTypeConverter<Double> {
     double value = rs.getDouble(column);
     return rs.wasNull() ? null : value;
   }
+
+  @Override
+  public Double read(@NotNull ResultSet rs, int index) throws SQLException {
+    double value = rs.getDouble(index);
+    return rs.wasNull() ? null : value;
+  }
+
+  @Override
+  public void setDouble(@NotNull PreparedStatement stmt, int index, double value) throws SQLException {
+    stmt.setDouble(index, value);
+  }
+
+  @Override
+  public double getDouble(@NotNull ResultSet rs, int index) throws SQLException {
+    return rs.getDouble(index);
+  }
 }
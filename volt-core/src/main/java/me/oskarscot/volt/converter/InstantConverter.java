@@ -2,6 +2,7 @@ package me.oskarscot.volt.converter;
 
 import java.sql.*;
 import java.time.Instant;
+import java.time.ZoneId;
 import org.jetbrains.annotations.NotNull;
 
 public class InstantConverter implements BidirectionalTypeConverter<Instant> {
@@ -20,4 +21,16 @@ public class InstantConverter implements BidirectionalTypeConverter<Instant> {
     Timestamp ts = rs.getTimestamp(column);
     return ts != null ? ts.toInstant() : null;
   }
+
+  @Override
+  public Instant read(@NotNull ResultSet rs, int index) throws SQLException {
+    Timestamp ts = rs.getTimestamp(index);
+    return ts != null ? ts.toInstant() : null;
+  }
+
+  @Override
+  public @NotNull String writeText(@NotNull Instant value) {
+    // Same wall-clock and offset as setTimestamp sends, so both paths store identical values
+    return value.atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+  }
 }
@@ -0,0 +1,44 @@
+package me.oskarscot.volt.converter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A converter that can also bind and read {@code int} values without boxing.
+ *
+ * @see LongColumnConverter
+ */
+public interface IntColumnConverter extends BidirectionalTypeConverter<Integer> {
+
+  /**
+   * Writes a {@code int} value to a prepared statement.
+   *
+   * @param stmt the prepared statement to write to
+   * @param index the parameter index (1-based)
+   * @param value the value to write
+   * @throws SQLException if a database error occurs
+   */
+  void setInt(@NotNull PreparedStatement stmt, int index, int value) throws SQLException;
+
+  /**
+   * Reads a {@code int} value from a result set by column position.
+   *
+   * @param rs the result set to read from
+   * @param index the column index (1-based)
+   * @return the value, or {@code 0} if the column was NULL
+   * @throws SQLException if a database error occurs
+   */
+  int getInt(@NotNull ResultSet rs, int index) throws SQLException;
+
+  /**
+   * Returns whether the last value read was SQL NULL.
+   *
+   * @param rs the result set last read from
+   * @throws SQLException if a database error occurs
+   */
+  default boolean wasNull(@NotNull ResultSet rs) throws SQLException {
+    return rs.wasNull();
+  }
+}
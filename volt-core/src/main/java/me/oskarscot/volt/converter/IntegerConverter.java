@@ -6,7 +6,7 @@ import java.sql.SQLException;
 import java.sql.Types;
 import org.jetbrains.annotations.NotNull;
 
-public class IntegerConverter implements BidirectionalTypeConverter<Integer> {
+public class IntegerConverter implements IntColumnConverter {
 
   @Override
   public void write(@NotNull PreparedStatement stmt, int index, Integer value) throws SQLException {
@@ -22,4 +22,20 @@ public class IntegerConverter implements BidirectionalTypeConverter<Integer> {
     int value = rs.getInt(column);
     return rs.wasNull() ? null : value;
   }
+
+  @Override
+  public Integer read(@NotNull ResultSet rs, int index) throws SQLException {
+    int value = rs.getInt(index);
+    return rs.wasNull() ? null : value;
+  }
+
+  @Override
+  public void setInt(@NotNull PreparedStatement stmt, int index, int value) throws SQLException {
+    stmt.setInt(index, value);
+  }
+
+  @Override
+  public int getInt(@NotNull ResultSet rs, int index) throws SQLException {
+    return rs.getInt(index);
+  }
 }
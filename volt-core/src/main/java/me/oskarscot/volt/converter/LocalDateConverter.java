@@ -21,4 +21,10 @@ public class LocalDateConverter implements BidirectionalTypeConverter<LocalDate>
     Date date = rs.getDate(column);
     return date != null ? date.toLocalDate() : null;
   }
+
+  @Override
+  public LocalDate read(@NotNull ResultSet rs, int index) throws SQLException {
+    Date date = rs.getDate(index);
+    return date != null ? date.toLocalDate() : null;
+  }
 }
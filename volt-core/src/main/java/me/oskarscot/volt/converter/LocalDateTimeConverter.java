@@ -21,4 +21,10 @@ public class LocalDateTimeConverter implements BidirectionalTypeConverter<LocalD
     Timestamp ts = rs.getTimestamp(column);
     return ts != null ? ts.toLocalDateTime() : null;
   }
+
+  @Override
+  public LocalDateTime read(@NotNull ResultSet rs, int index) throws SQLException {
+    Timestamp ts = rs.getTimestamp(index);
+    return ts != null ? ts.toLocalDateTime() : null;
+  }
 }
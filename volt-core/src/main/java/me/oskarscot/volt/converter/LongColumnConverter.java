@@ -0,0 +1,55 @@
+package me.oskarscot.volt.converter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A converter that can also bind and read {@code long} values without boxing.
+ *
+ * <p>Volt uses the primitive methods for {@code long} entity fields, and the boxed
+ * {@link BidirectionalTypeConverter} methods everywhere else. Like
+ * {@link ResultSet#getLong(int)}, {@link #getLong(ResultSet, int)} cannot represent SQL
+ * NULL, so callers check {@link #wasNull(ResultSet)} after reading.</p>
+ *
+ * <pre>{@code
+ * volt.registerConverter(long.class, new LongConverter());
+ * }</pre>
+ *
+ * @see IntColumnConverter
+ * @see DoubleColumnConverter
+ * @see BooleanColumnConverter
+ */
+public interface LongColumnConverter extends BidirectionalTypeConverter<Long> {
+
+  /**
+   * Writes a {@code long} value to a prepared statement.
+   *
+   * @param stmt the prepared statement to write to
+   * @param index the parameter index (1-based)
+   * @param value the value to write
+   * @throws SQLException if a database error occurs
+   */
+  void setLong(@NotNull PreparedStatement stmt, int index, long value) throws SQLException;
+
+  /**
+   * Reads a {@code long} value from a result set by column position.
+   *
+   * @param rs the result set to read from
+   * @param index the column index (1-based)
+   * @return the value, or {@code 0} if the column was NULL
+   * @throws SQLException if a database error occurs
+   */
+  long getLong(@NotNull ResultSet rs, int index) throws SQLException;
+
+  /**
+   * Returns whether the last value read was SQL NULL.
+   *
+   * @param rs the result set last read from
+   * @throws SQLException if a database error occurs
+   */
+  default boolean wasNull(@NotNull ResultSet rs) throws SQLException {
+    return rs.wasNull();
+  }
+}
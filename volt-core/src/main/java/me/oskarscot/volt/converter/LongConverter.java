@@ -6,7 +6,7 @@ import java.sql.SQLException;
 import java.sql.Types;
 import org.jetbrains.annotations.NotNull;
 
-public class LongConverter implements BidirectionalTypeConverter<Long> {
+public class LongConverter implements LongColumnConverter {
 
   @Override
   public void write(@NotNull PreparedStatement stmt, int index, Long value) throws SQLException {
@@ -22,4 +22,20 @@ public class LongConverter implements BidirectionalTypeConverter<Long> {
     long value = rs.getLong(column);
     return rs.wasNull() ? null : value;
   }
+
+  @Override
+  public Long read(@NotNull ResultSet rs, int index) throws SQLException {
+    long value = rs.getLong(index);
+    return rs.wasNull() ? null : value;
+  }
+
+  @Override
+  public void setLong(@NotNull PreparedStatement stmt, int index, long value) throws SQLException {
+    stmt.setLong(index, value);
+  }
+
+  @Override
+  public long getLong(@NotNull ResultSet rs, int index) throws SQLException {
+    return rs.getLong(index);
+  }
 }
@@ -21,4 +21,9 @@ public class StringConverter implements BidirectionalTypeConverter<String> {
   public String read(@NotNull ResultSet rs, @NotNull String column) throws SQLException {
     return rs.getString(column);
   }
+
+  @Override
+  public String read(@NotNull ResultSet rs, int index) throws SQLException {
+    return rs.getString(index);
+  }
 }
@@ -22,4 +22,9 @@ public class UUIDConverter implements BidirectionalTypeConverter<UUID> {
   public UUID read(@NotNull ResultSet rs, @NotNull String column) throws SQLException {
     return rs.getObject(column, UUID.class);
   }
+
+  @Override
+  public UUID read(@NotNull ResultSet rs, int index) throws SQLException {
+    return rs.getObject(index, UUID.class);
+  }
 }
@@ -1,7 +1,11 @@
 package me.oskarscot.volt.entity;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.List;
+import me.oskarscot.volt.exception.VoltException;
 import org.jetbrains.annotations.ApiStatus.Internal;
 
 public class EntityDefinition<T> {
@@ -10,6 +14,8 @@ public class EntityDefinition<T> {
   private final String tableName;
   private final PrimaryKey primaryKey;
   private final List<FieldDefinition> fields;
+  private final MethodHandle constructor;
+  private final EntityMapper<T> mapper;
 
   @Internal
   EntityDefinition(
@@ -18,6 +24,18 @@ public class EntityDefinition<T> {
     this.tableName = tableName;
     this.primaryKey = primaryKey;
     this.fields = fields;
+    this.constructor = resolveConstructor(clazz);
+    this.mapper = null;
+  }
+
+  @Internal
+  EntityDefinition(EntityMapper<T> mapper, PrimaryKey primaryKey, List<FieldDefinition> fields) {
+    this.clazz = mapper.getEntityClass();
+    this.tableName = mapper.getTableName();
+    this.primaryKey = primaryKey;
+    this.fields = fields;
+    this.constructor = null;
+    this.mapper = mapper;
   }
 
   public Class<T> getClazz() {
@@ -43,6 +61,43 @@ public class EntityDefinition<T> {
     return all;
   }
 
+  /**
+   * Returns {@code true} if the entity is mapped by a generated {@link EntityMapper} rather
+   * than reflectively.
+   */
+  public boolean isGenerated() {
+    return mapper != null;
+  }
+
+  /**
+   * Creates a new instance through the generated mapper, or the pre-resolved no-arg
+   * constructor handle if the entity has none.
+   *
+   * @return a new entity instance
+   * @throws VoltException if the constructor fails
+   */
+  @SuppressWarnings("unchecked")
+  public T newInstance() {
+    if (mapper != null) {
+      return mapper.newInstance();
+    }
+    try {
+      return (T) (Object) constructor.invokeExact();
+    } catch (Throwable e) {
+      throw new VoltException("Cannot instantiate entity " + clazz.getName() + ": " + e.getMessage(), e);
+    }
+  }
+
+  private static MethodHandle resolveConstructor(Class<?> clazz) {
+    try {
+      return MethodHandles.privateLookupIn(clazz, MethodHandles.lookup())
+          .findConstructor(clazz, MethodType.methodType(void.class))
+          .asType(MethodType.methodType(Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new VoltException("Entity " + clazz.getName() + " has no accessible no-arg constructor", e);
+    }
+  }
+
   @Override
   public String toString() {
     return "EntityDefinition{"
@@ -8,6 +8,7 @@ import me.oskarscot.volt.exception.VoltException;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -68,6 +69,9 @@ public final class EntityDefinitionFactory {
     List<FieldDefinition> fields = new ArrayList<>();
 
     for (Field field : clazz.getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers())) {
+        continue;
+      }
       String columnName = resolveColumnName(field);
 
       if (field.isAnnotationPresent(Identifier.class)) {
@@ -88,6 +92,50 @@ public final class EntityDefinitionFactory {
     return new EntityDefinition<>(clazz, tableName, primaryKey, fields);
   }
 
+  /**
+   * Creates an entity definition from a generated mapper, without scanning the class.
+   *
+   * <p>The mapped fields are looked up by name for their type only; they are read and
+   * written through the mapper.</p>
+   *
+   * @param mapper the generated mapper
+   * @param <T> the entity type
+   * @return the entity definition
+   * @throws VoltException if the mapper does not match the compiled entity class
+   */
+  @NotNull
+  public static <T> EntityDefinition<T> fromMapper(@NotNull EntityMapper<T> mapper) {
+    Class<T> clazz = mapper.getEntityClass();
+    List<String> fieldNames = mapper.getFieldNames();
+    List<String> columnNames = mapper.getColumnNames();
+    int primaryKeyIndex = mapper.getPrimaryKeyIndex();
+
+    PrimaryKey primaryKey = null;
+    List<FieldDefinition> fields = new ArrayList<>();
+
+    for (int i = 0; i < fieldNames.size(); i++) {
+      Field field;
+      try {
+        field = clazz.getDeclaredField(fieldNames.get(i));
+      } catch (NoSuchFieldException e) {
+        throw new VoltException("Generated mapper for " + clazz.getName()
+            + " is out of date: no field " + fieldNames.get(i), e);
+      }
+
+      if (i == primaryKeyIndex) {
+        primaryKey = new PrimaryKey(columnNames.get(i), field, mapper, i);
+      } else {
+        fields.add(new FieldDefinition(columnNames.get(i), field, mapper, i));
+      }
+    }
+
+    if (primaryKey == null) {
+      throw new VoltException("Entity " + clazz.getName() + " has no @Identifier field");
+    }
+
+    return new EntityDefinition<>(mapper, primaryKey, fields);
+  }
+
   @NotNull
   private static String resolveColumnName(@NotNull Field field) {
     NamedField annotation = field.getDeclaredAnnotation(NamedField.class);
@@ -0,0 +1,113 @@
+package me.oskarscot.volt.entity;
+
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reflection-free mapping for an entity class, generated at compile time by the
+ * {@code volt-processor} annotation processor.
+ *
+ * <p>Generated mappers are registered as services and picked up automatically when an entity
+ * is registered. They carry the entity's table and column layout, so the class does not need
+ * to be scanned, and they create instances and access fields with plain Java code instead of
+ * method and var handles. Entities without a generated mapper are mapped reflectively.</p>
+ *
+ * <p>Fields are addressed by their position in {@link #getFieldNames()}. Implementations are
+ * not meant to be written by hand.</p>
+ *
+ * @param <T> the entity type
+ */
+public interface EntityMapper<T> {
+
+  /**
+   * Suffix appended to an entity's name, with nested class names joined by {@code _}, to
+   * name its generated mapper.
+   */
+  String SUFFIX = "_VoltMapper";
+
+  @NotNull
+  Class<T> getEntityClass();
+
+  @NotNull
+  String getTableName();
+
+  /**
+   * Returns the names of the mapped fields, in declaration order.
+   */
+  @NotNull
+  List<String> getFieldNames();
+
+  /**
+   * Returns the column names of the mapped fields, in {@link #getFieldNames()} order.
+   */
+  @NotNull
+  List<String> getColumnNames();
+
+  /**
+   * Returns the position of the {@link me.oskarscot.volt.annotation.Identifier} field.
+   */
+  int getPrimaryKeyIndex();
+
+  @NotNull
+  PrimaryKeyType getPrimaryKeyType();
+
+  boolean isPrimaryKeyGenerated();
+
+  @NotNull
+  T newInstance();
+
+  /**
+   * Reads a field, boxing primitive values.
+   *
+   * @param entity the entity
+   * @param field the field's position in {@link #getFieldNames()}
+   * @return the field value
+   */
+  @Nullable
+  Object get(@NotNull T entity, int field);
+
+  /**
+   * Writes a field, unboxing values of primitive fields.
+   *
+   * @param entity the entity
+   * @param field the field's position in {@link #getFieldNames()}
+   * @param value the value to write
+   */
+  void set(@NotNull T entity, int field, @Nullable Object value);
+
+  // Primitive accessors, overridden by generated mappers for the entity's primitive fields so
+  // that they are read and written without boxing.
+
+  default long getLong(@NotNull T entity, int field) {
+    return (Long) get(entity, field);
+  }
+
+  default void setLong(@NotNull T entity, int field, long value) {
+    set(entity, field, value);
+  }
+
+  default int getInt(@NotNull T entity, int field) {
+    return (Integer) get(entity, field);
+  }
+
+  default void setInt(@NotNull T entity, int field, int value) {
+    set(entity, field, value);
+  }
+
+  default double getDouble(@NotNull T entity, int field) {
+    return (Double) get(entity, field);
+  }
+
+  default void setDouble(@NotNull T entity, int field, double value) {
+    set(entity, field, value);
+  }
+
+  default boolean getBoolean(@NotNull T entity, int field) {
+    return (Boolean) get(entity, field);
+  }
+
+  default void setBoolean(@NotNull T entity, int field, boolean value) {
+    set(entity, field, value);
+  }
+}
@@ -1,18 +1,44 @@
 package me.oskarscot.volt.entity;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
+import me.oskarscot.volt.exception.VoltException;
+import me.oskarscot.volt.internal.registry.BoundConverter;
 import org.jetbrains.annotations.ApiStatus.Internal;
 
 public class FieldDefinition {
 
   private final String columnName;
   private final Field field;
+  private final VarHandle handle;
+  private final EntityMapper<Object> mapper;
+  private final int index;
+  private BoundConverter converter;
 
   @Internal
   FieldDefinition(String columnName, Field field) {
     this.columnName = columnName;
     this.field = field;
     this.field.setAccessible(true);
+    this.handle = resolveHandle(field);
+    this.mapper = null;
+    this.index = -1;
+  }
+
+  /**
+   * Creates a field accessed through a generated mapper rather than a {@link VarHandle}.
+   *
+   * @param index the field's position in {@link EntityMapper#getFieldNames()}
+   */
+  @Internal
+  @SuppressWarnings("unchecked")
+  FieldDefinition(String columnName, Field field, EntityMapper<?> mapper, int index) {
+    this.columnName = columnName;
+    this.field = field;
+    this.handle = null;
+    this.mapper = (EntityMapper<Object>) mapper;
+    this.index = index;
   }
 
   public Field getField() {
@@ -23,6 +49,105 @@ public class FieldDefinition {
     return columnName;
   }
 
+  /**
+   * Reads this field from an entity through the generated mapper, or its pre-resolved
+   * {@link VarHandle} if the entity has none.
+   *
+   * @param entity the entity instance
+   * @return the field value, boxed if the field is primitive
+   */
+  public Object get(Object entity) {
+    return mapper != null ? mapper.get(entity, index) : handle.get(entity);
+  }
+
+  /**
+   * Writes this field on an entity through the generated mapper, or its pre-resolved
+   * {@link VarHandle} if the entity has none.
+   *
+   * @param entity the entity instance
+   * @param value the value to write
+   */
+  public void set(Object entity, Object value) {
+    if (mapper != null) {
+      mapper.set(entity, index, value);
+    } else {
+      handle.set(entity, value);
+    }
+  }
+
+  // Primitive accessors, used with primitive converters so that values are not boxed. They
+  // must only be called for fields of the matching primitive type.
+
+  public long getLong(Object entity) {
+    return mapper != null ? mapper.getLong(entity, index) : (long) handle.get(entity);
+  }
+
+  public void setLong(Object entity, long value) {
+    if (mapper != null) {
+      mapper.setLong(entity, index, value);
+    } else {
+      handle.set(entity, value);
+    }
+  }
+
+  public int getInt(Object entity) {
+    return mapper != null ? mapper.getInt(entity, index) : (int) handle.get(entity);
+  }
+
+  public void setInt(Object entity, int value) {
+    if (mapper != null) {
+      mapper.setInt(entity, index, value);
+    } else {
+      handle.set(entity, value);
+    }
+  }
+
+  public double getDouble(Object entity) {
+    return mapper != null ? mapper.getDouble(entity, index) : (double) handle.get(entity);
+  }
+
+  public void setDouble(Object entity, double value) {
+    if (mapper != null) {
+      mapper.setDouble(entity, index, value);
+    } else {
+      handle.set(entity, value);
+    }
+  }
+
+  public boolean getBoolean(Object entity) {
+    return mapper != null ? mapper.getBoolean(entity, index) : (boolean) handle.get(entity);
+  }
+
+  public void setBoolean(Object entity, boolean value) {
+    if (mapper != null) {
+      mapper.setBoolean(entity, index, value);
+    } else {
+      handle.set(entity, value);
+    }
+  }
+
+  /**
+   * Returns the converter this field was last bound to, which may be stale.
+   */
+  @Internal
+  public BoundConverter getConverter() {
+    return converter;
+  }
+
+  @Internal
+  public void setConverter(BoundConverter converter) {
+    this.converter = converter;
+  }
+
+  private static VarHandle resolveHandle(Field field) {
+    try {
+      return MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+          .unreflectVarHandle(field);
+    } catch (IllegalAccessException e) {
+      throw new VoltException("Cannot access field " + field.getName() + ": " + e.getMessage(), e);
+    }
+  }
+
   @Override
   public String toString() {
     return "FieldDefinition{" + ", name='" + columnName + '\'' + '}';
@@ -15,6 +15,13 @@ public class PrimaryKey extends FieldDefinition {
     this.generated = generated;
   }
 
+  @Internal
+  PrimaryKey(String name, Field field, EntityMapper<?> mapper, int index) {
+    super(name, field, mapper, index);
+    this.primaryKeyType = mapper.getPrimaryKeyType();
+    this.generated = mapper.isPrimaryKeyGenerated();
+  }
+
   public PrimaryKeyType getPrimaryKeyType() {
     return primaryKeyType;
   }
@@ -5,4 +5,8 @@ public class VoltException extends RuntimeException {
   public VoltException(String message) {
     super(message);
   }
+
+  public VoltException(String message, Throwable cause) {
+    super(message, cause);
+  }
 }
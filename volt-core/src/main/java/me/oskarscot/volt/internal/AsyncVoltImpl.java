@@ -0,0 +1,104 @@
+package me.oskarscot.volt.internal;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import me.oskarscot.volt.AsyncVolt;
+import me.oskarscot.volt.Result;
+import me.oskarscot.volt.Transaction;
+import me.oskarscot.volt.Volt;
+import me.oskarscot.volt.exception.VoltError;
+import me.oskarscot.volt.query.Query;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs {@link Volt} operations on an executor, holding a permit per running operation so
+ * that no more of them compete for connections than the pool can serve.
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+final class AsyncVoltImpl implements AsyncVolt {
+
+  private final Volt volt;
+  private final Executor executor;
+  private final Semaphore permits;
+
+  AsyncVoltImpl(@NotNull Volt volt, @NotNull Executor executor, int concurrency) {
+    this.volt = volt;
+    this.executor = executor;
+    this.permits = new Semaphore(concurrency, true);
+  }
+
+  @Override
+  public <T> @NotNull CompletableFuture<Result<T, VoltError>> findByIdAsync(
+      @NotNull Class<T> type, @NotNull Object id) {
+    return submit(() -> volt.findById(type, id));
+  }
+
+  @Override
+  public <T> @NotNull CompletableFuture<Result<List<T>, VoltError>> findAllByAsync(
+      @NotNull Class<T> type, @NotNull Query query) {
+    return submit(() -> {
+      try (Transaction tx = volt.beginReadOnlyTransaction()) {
+        Result<List<T>, VoltError> result = tx.findAllBy(type, query);
+        if (result.isSuccess()) {
+          tx.commit();
+        }
+        return result;
+      }
+    });
+  }
+
+  @Override
+  public <T> @NotNull CompletableFuture<Result<T, VoltError>> saveAsync(@NotNull T entity) {
+    return submit(() -> volt.save(entity));
+  }
+
+  @Override
+  public <T> @NotNull CompletableFuture<Result<Void, VoltError>> deleteAsync(@NotNull T entity) {
+    return submit(() -> volt.delete(entity));
+  }
+
+  @Override
+  public <R> @NotNull CompletableFuture<Result<R, VoltError>> inTransactionAsync(
+      @NotNull Function<Transaction, Result<R, VoltError>> work) {
+    return submit(() -> {
+      try (Transaction tx = volt.beginTransaction()) {
+        Result<R, VoltError> result = work.apply(tx);
+        if (result.isFailure()) {
+          tx.rollback();
+          return result;
+        }
+        Result<Void, VoltError> commit = tx.commit();
+        return commit.isSuccess() ? result : Result.failure(commit.getError());
+      }
+    });
+  }
+
+  /**
+   * Runs an operation on the executor once a permit is free. Waiting happens on the executor
+   * thread, which costs nothing on a virtual thread but holds a platform thread otherwise.
+   */
+  private <R> CompletableFuture<Result<R, VoltError>> submit(
+      Supplier<Result<R, VoltError>> operation) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return Result.failure(new VoltError("Interrupted while waiting for a connection"));
+      }
+
+      try {
+        return operation.get();
+      } finally {
+        permits.release();
+      }
+    }, executor);
+  }
+}
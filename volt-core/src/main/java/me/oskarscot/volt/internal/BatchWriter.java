@@ -0,0 +1,321 @@
+package me.oskarscot.volt.internal;
+
+import me.oskarscot.volt.BatchStrategy;
+import me.oskarscot.volt.VoltSettings;
+import me.oskarscot.volt.entity.PrimaryKey;
+import me.oskarscot.volt.exception.VoltException;
+import me.oskarscot.volt.internal.plan.EntityPlan;
+import me.oskarscot.volt.internal.registry.ConverterRegistry;
+import me.oskarscot.volt.internal.registry.EntityRegistry;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes entities in batches.
+ *
+ * <p>Entities are grouped by entity type and by statement kind (insert, upsert or delete).
+ * Each group keeps a single {@link PreparedStatement} open for the whole operation and
+ * executes it every {@code batchSize} rows, so memory use is bounded by the batch size
+ * regardless of how many entities the source produces. Groups execute independently,
+ * so statements of different groups are not guaranteed to run in source order.</p>
+ *
+ * <p>With {@link BatchStrategy#MULTI_ROW}, inserts and upserts are buffered instead and
+ * each chunk is sent as one multi-row statement, sized to stay within the bind
+ * parameter limit. Deletes always use JDBC batching.</p>
+ *
+ * <p>Generated keys are assigned back to the inserted entities after each flush and reported
+ * to the writer's key listener.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+final class BatchWriter implements AutoCloseable {
+
+  private enum Kind {
+    INSERT,
+    UPSERT,
+    DELETE
+  }
+
+  private record GroupKey(EntityPlan<?> plan, Kind kind) {}
+
+  private final EntityRegistry entityRegistry;
+  private final ConverterRegistry converterRegistry;
+  private final Connection connection;
+  private final VoltSettings settings;
+  private final OperationTimer timer;
+  private final BiConsumer<EntityPlan<?>, Object> generatedKeys;
+
+  private final Map<GroupKey, Group> groups = new HashMap<>();
+  private long affected;
+
+  BatchWriter(
+      EntityRegistry entityRegistry,
+      ConverterRegistry converterRegistry,
+      Connection connection,
+      VoltSettings settings,
+      @Nullable OperationTimer timer,
+      @NotNull BiConsumer<EntityPlan<?>, Object> generatedKeys) {
+    this.entityRegistry = entityRegistry;
+    this.converterRegistry = converterRegistry;
+    this.connection = connection;
+    this.settings = settings;
+    this.timer = timer;
+    this.generatedKeys = generatedKeys;
+  }
+
+  /**
+   * Saves every entity produced by the iterator, inserting entities that still need a
+   * generated key and upserting the rest.
+   *
+   * @param entities the entities to save
+   * @return the number of entities saved
+   */
+  long saveAll(@NotNull Iterator<?> entities) throws SQLException {
+    while (entities.hasNext()) {
+      Object entity = entities.next();
+      EntityPlan<Object> plan = planFor(entity);
+      Object pkValue = plan.getDefinition().getPrimaryKey().get(entity);
+      Kind kind = plan.requiresInsert(pkValue) ? Kind.INSERT : Kind.UPSERT;
+      add(plan, kind, entity);
+    }
+    flushAll();
+    return affected;
+  }
+
+  /**
+   * Deletes every entity produced by the iterator by primary key.
+   *
+   * @param entities the entities to delete
+   * @return the number of rows deleted
+   */
+  long deleteAll(@NotNull Iterator<?> entities) throws SQLException {
+    while (entities.hasNext()) {
+      Object entity = entities.next();
+      EntityPlan<Object> plan = planFor(entity);
+      if (plan.getDefinition().getPrimaryKey().get(entity) == null) {
+        throw new VoltException("Cannot delete entity with null primary key");
+      }
+      add(plan, Kind.DELETE, entity);
+    }
+    flushAll();
+    return affected;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    SQLException failure = null;
+    for (Group group : groups.values()) {
+      if (group.stmt == null) {
+        continue;
+      }
+      try {
+        group.stmt.close();
+      } catch (SQLException e) {
+        failure = e;
+      }
+    }
+    groups.clear();
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private EntityPlan<Object> planFor(Object entity) {
+    if (entity == null) {
+      throw new VoltException("Cannot write a null entity");
+    }
+    EntityPlan<Object> plan = (EntityPlan<Object>) entityRegistry.getPlan(entity.getClass());
+    if (plan == null) {
+      throw new VoltException("Entity " + entity.getClass().getName() + " is not registered");
+    }
+    return plan;
+  }
+
+  private void add(EntityPlan<Object> plan, Kind kind, Object entity) throws SQLException {
+    GroupKey key = new GroupKey(plan, kind);
+    Group group = groups.get(key);
+    if (group == null) {
+      group = newGroup(plan, kind);
+      groups.put(key, group);
+    }
+
+    if (group.rowsPerStatement > 0) {
+      group.pending.add(entity);
+      if (group.pending.size() >= group.rowsPerStatement) {
+        flush(group);
+      }
+      return;
+    }
+
+    switch (kind) {
+      case INSERT -> plan.getInsertBuilder().bindValues(group.stmt, entity);
+      case UPSERT -> plan.getUpsertBuilder().bindValues(group.stmt, entity);
+      case DELETE -> {
+        PrimaryKey pk = plan.getDefinition().getPrimaryKey();
+        converterRegistry.writeField(group.stmt, 1, entity, pk);
+      }
+    }
+    group.stmt.addBatch();
+    group.pending.add(entity);
+
+    if (group.pending.size() >= settings.getBatchSize()) {
+      flush(group);
+    }
+  }
+
+  private Group newGroup(EntityPlan<Object> plan, Kind kind) throws SQLException {
+    if (kind != Kind.DELETE && settings.getBatchStrategy() == BatchStrategy.MULTI_ROW) {
+      int columns =
+          kind == Kind.INSERT
+              ? plan.getInsertBuilder().getColumns().length
+              : plan.getUpsertBuilder().getColumns().length;
+      int rowsPerStatement =
+          Math.max(1, Math.min(settings.getBatchSize(), settings.getMaxBindParameters() / columns));
+      return new Group(plan, kind, null, rowsPerStatement);
+    }
+    return new Group(plan, kind, prepare(plan, kind), 0);
+  }
+
+  private PreparedStatement prepare(EntityPlan<Object> plan, Kind kind) throws SQLException {
+    return switch (kind) {
+      case INSERT -> connection.prepareStatement(plan.getInsertSql(), Statement.RETURN_GENERATED_KEYS);
+      case UPSERT -> connection.prepareStatement(plan.getUpsertSql());
+      case DELETE -> connection.prepareStatement(plan.getDeleteByIdSql());
+    };
+  }
+
+  private void flushAll() throws SQLException {
+    for (Group group : groups.values()) {
+      flush(group);
+    }
+  }
+
+  private void flush(Group group) throws SQLException {
+    if (group.pending.isEmpty()) {
+      return;
+    }
+
+    if (group.rowsPerStatement > 0) {
+      flushMultiRow(group);
+      return;
+    }
+
+    long start = timer == null ? 0 : System.nanoTime();
+    int[] counts = group.stmt.executeBatch();
+    if (timer != null) {
+      timer.executedUnattributed(start);
+    }
+
+    if (group.kind == Kind.DELETE) {
+      for (int count : counts) {
+        affected += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+      }
+    } else {
+      affected += group.pending.size();
+    }
+
+    if (group.kind == Kind.INSERT && group.plan.hasGeneratedNumberKey()) {
+      try (ResultSet keys = group.stmt.getGeneratedKeys()) {
+        assignGeneratedKeys(group, keys);
+      }
+    }
+
+    group.pending.clear();
+  }
+
+  private void flushMultiRow(Group group) throws SQLException {
+    int rows = group.pending.size();
+    boolean fullChunk = rows == group.rowsPerStatement;
+
+    PreparedStatement stmt;
+    if (fullChunk) {
+      if (group.stmt == null) {
+        group.stmt = connection.prepareStatement(multiRowSql(group, rows));
+      }
+      stmt = group.stmt;
+    } else {
+      stmt = connection.prepareStatement(multiRowSql(group, rows));
+    }
+
+    try {
+      int index = 1;
+      for (Object entity : group.pending) {
+        index =
+            group.kind == Kind.INSERT
+                ? group.plan.getInsertBuilder().bindValues(stmt, entity, index)
+                : group.plan.getUpsertBuilder().bindValues(stmt, entity, index);
+      }
+
+      long start = timer == null ? 0 : System.nanoTime();
+      if (group.kind == Kind.INSERT && group.plan.hasGeneratedNumberKey()) {
+        try (ResultSet keys = stmt.executeQuery()) {
+          assignGeneratedKeys(group, keys);
+        }
+      } else {
+        stmt.executeUpdate();
+      }
+      if (timer != null) {
+        timer.executedUnattributed(start);
+      }
+    } finally {
+      if (!fullChunk) {
+        stmt.close();
+      }
+    }
+
+    affected += rows;
+    group.pending.clear();
+  }
+
+  private String multiRowSql(Group group, int rows) {
+    return group.kind == Kind.INSERT
+        ? group.plan.getInsertBuilder().toSql(rows)
+        : group.plan.getUpsertBuilder().toSql(rows);
+  }
+
+  private void assignGeneratedKeys(Group group, ResultSet keys) throws SQLException {
+    PrimaryKey pk = group.plan.getDefinition().getPrimaryKey();
+    for (Object entity : group.pending) {
+      if (!keys.next()) {
+        break;
+      }
+      Object generatedId = keys.getLong(1);
+      pk.set(entity, generatedId);
+      generatedKeys.accept(group.plan, generatedId);
+    }
+  }
+
+  private static final class Group {
+
+    private final EntityPlan<Object> plan;
+    private final Kind kind;
+    private final int rowsPerStatement;
+    private final List<Object> pending = new ArrayList<>();
+    private PreparedStatement stmt;
+
+    /**
+     * @param rowsPerStatement rows per multi-row statement, or {@code 0} for JDBC batching
+     */
+    private Group(EntityPlan<Object> plan, Kind kind, PreparedStatement stmt, int rowsPerStatement) {
+      this.plan = plan;
+      this.kind = kind;
+      this.stmt = stmt;
+      this.rowsPerStatement = rowsPerStatement;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package me.oskarscot.volt.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Wraps a prepared statement so that every {@code setXxx(index, value, ...)} call reports
+ * the bound value to an {@link OperationTimer}. Only used while a slow query log captures
+ * bind values; {@code setNull} reports {@code null}.
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+final class BindRecorder implements InvocationHandler {
+
+  private final PreparedStatement target;
+  private final OperationTimer timer;
+
+  private BindRecorder(PreparedStatement target, OperationTimer timer) {
+    this.target = target;
+    this.timer = timer;
+  }
+
+  @NotNull
+  static PreparedStatement wrap(@NotNull PreparedStatement target, @NotNull OperationTimer timer) {
+    return (PreparedStatement) Proxy.newProxyInstance(
+        PreparedStatement.class.getClassLoader(),
+        new Class<?>[] {PreparedStatement.class},
+        new BindRecorder(target, timer));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    String name = method.getName();
+    if (name.startsWith("set")
+        && args != null
+        && args.length >= 2
+        && method.getParameterTypes()[0] == int.class) {
+      timer.bound((Integer) args[0], name.equals("setNull") ? null : args[1]);
+    }
+
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
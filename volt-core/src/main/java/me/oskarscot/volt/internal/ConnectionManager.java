@@ -1,6 +1,8 @@
 package me.oskarscot.volt.internal;
 
-import com.zaxxer.hikari.HikariDataSource;
+import me.oskarscot.volt.connection.ConnectionProvider;
+import me.oskarscot.volt.connection.LoadBalancingPolicy;
+import me.oskarscot.volt.connection.Replica;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -9,37 +11,128 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Manages database connections from the HikariCP connection pool.
+ * Manages database connections from the configured {@link ConnectionProvider}, and routes
+ * read-only transactions to read replicas if any are configured.
  */
 @Internal
 public final class ConnectionManager {
 
+  /** Marks read-only leases served by the primary. */
+  private static final ReplicaHandle PRIMARY = new ReplicaHandle(-1, null);
+
   private final Logger logger = LoggerFactory.getLogger(getClass());
 
-  private final HikariDataSource hikariDataSource;
+  private final ConnectionProvider connectionProvider;
+  private final List<Replica> replicas;
+  private final LoadBalancingPolicy policy;
+  private final long readYourWritesNanos;
+  private final ThreadLocal<long[]> lastWrite = ThreadLocal.withInitial(() -> new long[1]);
+  private final Map<Connection, ReplicaHandle> readOnlyLeases = new ConcurrentHashMap<>();
 
   @Internal
-  ConnectionManager(@NotNull HikariDataSource hikariDataSource) {
-    this.hikariDataSource = hikariDataSource;
+  ConnectionManager(@NotNull ConnectionProvider connectionProvider) {
+    this(connectionProvider, List.of(), LoadBalancingPolicy.roundRobin(), Duration.ZERO);
+  }
+
+  @Internal
+  ConnectionManager(
+      @NotNull ConnectionProvider connectionProvider,
+      @NotNull List<ConnectionProvider> replicas,
+      @NotNull LoadBalancingPolicy policy,
+      @NotNull Duration readYourWritesWindow) {
+    this.connectionProvider = connectionProvider;
+    List<Replica> handles = new ArrayList<>();
+    for (ConnectionProvider replica : replicas) {
+      handles.add(new ReplicaHandle(handles.size(), replica));
+    }
+    this.replicas = List.copyOf(handles);
+    this.policy = policy;
+    this.readYourWritesNanos = readYourWritesWindow.toNanos();
   }
 
   /**
-   * Acquires a connection from the pool.
+   * Acquires a connection from the provider.
    *
    * @return a database connection, or {@code null} if acquisition failed
    */
   @Nullable
   public Connection acquire() {
     try {
-      return this.hikariDataSource.getConnection();
+      return this.connectionProvider.getConnection();
     } catch (SQLException e) {
       logger.error("Unable to acquire connection", e);
     }
     return null;
   }
 
+  /**
+   * Acquires a read-only connection, from a replica picked by the load balancing policy if
+   * replicas are configured and the calling thread is outside its read-your-writes window,
+   * and from the primary otherwise or if the replica fails.
+   *
+   * @return a read-only database connection, or {@code null} if acquisition failed
+   */
+  @Nullable
+  public Connection acquireReadOnly() {
+    ReplicaHandle replica = PRIMARY;
+    Connection connection = null;
+
+    if (!replicas.isEmpty() && !withinReadYourWrites()) {
+      replica = (ReplicaHandle) policy.choose(replicas);
+      replica.inFlight.incrementAndGet();
+      try {
+        connection = replica.provider.getConnection();
+      } catch (SQLException e) {
+        replica.inFlight.decrementAndGet();
+        logger.warn("Unable to acquire connection from replica {}, using the primary: {}",
+            replica.index, e.getMessage());
+        replica = PRIMARY;
+      }
+    }
+
+    if (connection == null) {
+      connection = acquire();
+      if (connection == null) {
+        return null;
+      }
+    }
+
+    readOnlyLeases.put(connection, replica);
+    try {
+      connection.setReadOnly(true);
+    } catch (SQLException e) {
+      logger.error("Unable to mark connection read-only", e);
+      release(connection);
+      return null;
+    }
+    return connection;
+  }
+
+  /**
+   * Returns {@code true} if read replicas are configured.
+   */
+  public boolean hasReplicas() {
+    return !replicas.isEmpty();
+  }
+
+  /**
+   * Records that a transaction on the given connection committed, which opens the calling
+   * thread's read-your-writes window unless the transaction was read-only.
+   */
+  void committed(@NotNull Connection connection) {
+    if (readYourWritesNanos > 0 && !readOnlyLeases.containsKey(connection)) {
+      lastWrite.get()[0] = System.nanoTime();
+    }
+  }
+
   /**
    * Releases a connection back to the pool.
    *
@@ -49,6 +142,20 @@ public final class ConnectionManager {
    * @param connection the connection to release
    */
   public void release(@NotNull Connection connection) {
+    release(connection, null);
+  }
+
+  /**
+   * Releases a connection back to the pool, first closing the statements cached for it.
+   *
+   * @param connection the connection to release
+   * @param statements the connection's statement cache, or {@code null} if it has none
+   */
+  void release(@NotNull Connection connection, @Nullable StatementCache statements) {
+    if (statements != null) {
+      statements.close();
+    }
+
     try {
       if (!connection.getAutoCommit()) {
         logger.warn("Connection released with active transaction. Rolling back.");
@@ -58,10 +165,57 @@ public final class ConnectionManager {
       logger.error("Failed to rollback connection", e);
     }
 
+    ReplicaHandle replica = readOnlyLeases.remove(connection);
+    if (replica != null) {
+      if (replica != PRIMARY) {
+        replica.inFlight.decrementAndGet();
+      }
+      try {
+        connection.setReadOnly(false);
+      } catch (SQLException e) {
+        logger.error("Failed to reset read-only connection", e);
+      }
+    }
+
     try {
       connection.close();
     } catch (SQLException e) {
       logger.error("Failed to close connection", e);
     }
   }
+
+  private boolean withinReadYourWrites() {
+    if (readYourWritesNanos == 0) {
+      return false;
+    }
+    long last = lastWrite.get()[0];
+    return last != 0 && System.nanoTime() - last < readYourWritesNanos;
+  }
+
+  private static final class ReplicaHandle implements Replica {
+
+    private final int index;
+    private final ConnectionProvider provider;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private ReplicaHandle(int index, ConnectionProvider provider) {
+      this.index = index;
+      this.provider = provider;
+    }
+
+    @Override
+    public int getIndex() {
+      return index;
+    }
+
+    @Override
+    public int getInFlight() {
+      return inFlight.get();
+    }
+
+    @Override
+    public @NotNull ConnectionProvider getProvider() {
+      return provider;
+    }
+  }
 }
@@ -0,0 +1,145 @@
+package me.oskarscot.volt.internal;
+
+import me.oskarscot.volt.entity.FieldDefinition;
+import me.oskarscot.volt.entity.PrimaryKey;
+import me.oskarscot.volt.entity.PrimaryKeyType;
+import me.oskarscot.volt.exception.VoltException;
+import me.oskarscot.volt.internal.plan.EntityPlan;
+import me.oskarscot.volt.internal.registry.ConverterRegistry;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Streams entities into a table through PostgreSQL's {@code COPY ... FROM STDIN}.
+ *
+ * <p>Rows are encoded in COPY text format using the column order of the entity's insert
+ * statement and the registered converters, and are sent to the server in fixed-size chunks
+ * so the input is never buffered as a whole.</p>
+ *
+ * <p>This is the only class that references the PostgreSQL driver, which is an optional
+ * dependency of Volt.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+final class CopyLoader {
+
+  private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+  private final ConverterRegistry converterRegistry;
+
+  CopyLoader(@NotNull ConverterRegistry converterRegistry) {
+    this.converterRegistry = converterRegistry;
+  }
+
+  /**
+   * Checks whether the connection can be used for COPY.
+   *
+   * @param connection the connection
+   * @return {@code true} if the connection is a PostgreSQL connection
+   */
+  static boolean isSupported(@NotNull Connection connection) throws SQLException {
+    return connection.isWrapperFor(PGConnection.class);
+  }
+
+  /**
+   * Copies every entity produced by the iterator into the entity's table.
+   *
+   * @param connection a PostgreSQL connection
+   * @param plan the entity plan
+   * @param entities the entities to load
+   * @return the number of rows loaded
+   */
+  <T> long load(
+      @NotNull Connection connection, @NotNull EntityPlan<T> plan, @NotNull Iterator<T> entities)
+      throws SQLException {
+    FieldDefinition[] columns = plan.getInsertBuilder().getColumns();
+    String sql =
+        String.format(
+            "COPY %s (%s) FROM STDIN",
+            plan.getDefinition().getTableName(),
+            Arrays.stream(columns).map(FieldDefinition::getColumnName).collect(Collectors.joining(", ")));
+
+    CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    try {
+      StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + FLUSH_THRESHOLD / 4);
+      while (entities.hasNext()) {
+        T entity = entities.next();
+        if (entity == null) {
+          throw new VoltException("Cannot load a null entity");
+        }
+        appendRow(buffer, plan, columns, entity);
+
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+          write(copyIn, buffer);
+        }
+      }
+      write(copyIn, buffer);
+      return copyIn.endCopy();
+    } finally {
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+    }
+  }
+
+  private <T> void appendRow(
+      StringBuilder buffer, EntityPlan<T> plan, FieldDefinition[] columns, T entity) {
+    PrimaryKey pk = plan.getDefinition().getPrimaryKey();
+
+    for (int i = 0; i < columns.length; i++) {
+      if (i > 0) {
+        buffer.append('\t');
+      }
+
+      FieldDefinition column = columns[i];
+      Object value = column.get(entity);
+      if (value == null
+          && column == pk
+          && pk.isGenerated()
+          && pk.getPrimaryKeyType() == PrimaryKeyType.UUID) {
+        value = UUID.randomUUID();
+        pk.set(entity, value);
+      }
+
+      if (value == null) {
+        buffer.append("\\N");
+      } else {
+        appendEscaped(buffer, converterRegistry.writeText(value, column.getField().getType()));
+      }
+    }
+    buffer.append('\n');
+  }
+
+  private static void appendEscaped(StringBuilder buffer, String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '\\' -> buffer.append("\\\\");
+        case '\n' -> buffer.append("\\n");
+        case '\r' -> buffer.append("\\r");
+        case '\t' -> buffer.append("\\t");
+        default -> buffer.append(c);
+      }
+    }
+  }
+
+  private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+}
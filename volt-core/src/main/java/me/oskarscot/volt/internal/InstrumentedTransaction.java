@@ -0,0 +1,256 @@
+package me.oskarscot.volt.internal;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import me.oskarscot.volt.Page;
+import me.oskarscot.volt.Result;
+import me.oskarscot.volt.Transaction;
+import me.oskarscot.volt.exception.VoltError;
+import me.oskarscot.volt.metrics.Operation;
+import me.oskarscot.volt.metrics.Outcome;
+import me.oskarscot.volt.metrics.Phase;
+import me.oskarscot.volt.query.Projection;
+import me.oskarscot.volt.query.Query;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reports each operation of a transaction to the configured listener, with the phase times
+ * the transaction records into the shared {@link OperationTimer}.
+ *
+ * <p>Only used when a listener is configured, so uninstrumented transactions pay nothing
+ * for it.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+final class InstrumentedTransaction implements Transaction {
+
+  private final Transaction delegate;
+  private final OperationTimer timer;
+
+  InstrumentedTransaction(@NotNull Transaction delegate, @NotNull OperationTimer timer) {
+    this.delegate = delegate;
+    this.timer = timer;
+  }
+
+  @Override
+  public <T> @NotNull Result<T, VoltError> save(@NotNull T entity) {
+    timer.begin(Operation.SAVE, entity.getClass());
+    return wrote(delegate.save(entity));
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> saveAll(@NotNull Iterable<?> entities) {
+    timer.begin(Operation.SAVE_ALL, null);
+    return wroteAll(delegate.saveAll(entities));
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> saveAll(@NotNull Iterator<?> entities) {
+    timer.begin(Operation.SAVE_ALL, null);
+    return wroteAll(delegate.saveAll(entities));
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> saveAll(@NotNull Stream<?> entities) {
+    timer.begin(Operation.SAVE_ALL, null);
+    return wroteAll(delegate.saveAll(entities));
+  }
+
+  @Override
+  public <T> @NotNull Result<T, VoltError> findById(@NotNull Class<T> type, @NotNull Object id) {
+    timer.begin(Operation.FIND_BY_ID, type);
+    return read(delegate.findById(type, id));
+  }
+
+  @Override
+  public <T> @NotNull Result<List<T>, VoltError> findAllById(
+      @NotNull Class<T> type, @NotNull Collection<?> ids) {
+    timer.begin(Operation.FIND_ALL_BY_ID, type);
+    return read(delegate.findAllById(type, ids));
+  }
+
+  @Override
+  public <T> @NotNull Result<Optional<T>, VoltError> findFirstBy(
+      @NotNull Class<T> type, @NotNull String field, @NotNull Object value) {
+    timer.begin(Operation.FIND_FIRST, type);
+    return read(delegate.findFirstBy(type, field, value));
+  }
+
+  @Override
+  public <T> @NotNull Result<T, VoltError> findOneBy(
+      @NotNull Class<T> type, @NotNull String field, @NotNull Object value) {
+    timer.begin(Operation.FIND_ONE, type);
+    return read(delegate.findOneBy(type, field, value));
+  }
+
+  @Override
+  public <T> @NotNull Result<List<T>, VoltError> findAllBy(
+      @NotNull Class<T> type, @NotNull String field, @NotNull Object value) {
+    timer.begin(Operation.FIND_ALL, type);
+    return read(delegate.findAllBy(type, field, value));
+  }
+
+  @Override
+  public <T> @NotNull Result<List<T>, VoltError> findAll(@NotNull Class<T> type) {
+    timer.begin(Operation.FIND_ALL, type);
+    return read(delegate.findAll(type));
+  }
+
+  @Override
+  public <T> @NotNull Result<Long, VoltError> count(@NotNull Class<T> type, @NotNull Query query) {
+    timer.begin(Operation.COUNT, type);
+    return read(delegate.count(type, query));
+  }
+
+  @Override
+  public <T> @NotNull Result<Boolean, VoltError> exists(
+      @NotNull Class<T> type, @NotNull Query query) {
+    timer.begin(Operation.EXISTS, type);
+    return read(delegate.exists(type, query));
+  }
+
+  @Override
+  public <T> @NotNull Result<Boolean, VoltError> existsById(
+      @NotNull Class<T> type, @NotNull Object id) {
+    timer.begin(Operation.EXISTS, type);
+    return read(delegate.existsById(type, id));
+  }
+
+  @Override
+  public <T> @NotNull Result<Optional<T>, VoltError> findFirstBy(
+      @NotNull Class<T> type, @NotNull Query query) {
+    timer.begin(Operation.FIND_FIRST, type);
+    return read(delegate.findFirstBy(type, query));
+  }
+
+  @Override
+  public <T> @NotNull Result<T, VoltError> findOneBy(@NotNull Class<T> type, @NotNull Query query) {
+    timer.begin(Operation.FIND_ONE, type);
+    return read(delegate.findOneBy(type, query));
+  }
+
+  @Override
+  public <T> @NotNull Result<List<T>, VoltError> findAllBy(
+      @NotNull Class<T> type, @NotNull Query query) {
+    timer.begin(Operation.FIND_ALL, type);
+    return read(delegate.findAllBy(type, query));
+  }
+
+  @Override
+  public <T, R> @NotNull Result<List<R>, VoltError> findAllBy(
+      @NotNull Class<T> type, @NotNull Query query, @NotNull Projection<R> projection) {
+    timer.begin(Operation.FIND_ALL, type);
+    return read(delegate.findAllBy(type, query, projection));
+  }
+
+  @Override
+  public <T> @NotNull Result<Page<T>, VoltError> findPage(
+      @NotNull Class<T> type, @NotNull Query query) {
+    timer.begin(Operation.FIND_PAGE, type);
+    return read(delegate.findPage(type, query));
+  }
+
+  @Override
+  public <T> @NotNull Result<Stream<T>, VoltError> stream(
+      @NotNull Class<T> type, @NotNull Query query) {
+    timer.begin(Operation.STREAM, type);
+    return read(delegate.stream(type, query));
+  }
+
+  @Override
+  public <T> @NotNull Result<Stream<T>, VoltError> streamAll(@NotNull Class<T> type) {
+    timer.begin(Operation.STREAM, type);
+    return read(delegate.streamAll(type));
+  }
+
+  @Override
+  public <T> @NotNull Result<Void, VoltError> delete(@NotNull T entity) {
+    timer.begin(Operation.DELETE, entity.getClass());
+    return wrote(delegate.delete(entity));
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> deleteAll(@NotNull Iterable<?> entities) {
+    timer.begin(Operation.DELETE_ALL, null);
+    return wroteAll(delegate.deleteAll(entities));
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> deleteAll(@NotNull Iterator<?> entities) {
+    timer.begin(Operation.DELETE_ALL, null);
+    return wroteAll(delegate.deleteAll(entities));
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> deleteAll(@NotNull Stream<?> entities) {
+    timer.begin(Operation.DELETE_ALL, null);
+    return wroteAll(delegate.deleteAll(entities));
+  }
+
+  @Override
+  public <T> @NotNull Result<Void, VoltError> deleteById(
+      @NotNull Class<T> type, @NotNull Object id) {
+    timer.begin(Operation.DELETE, type);
+    return wrote(delegate.deleteById(type, id));
+  }
+
+  @Override
+  public <T> @NotNull Result<Long, VoltError> deleteBy(
+      @NotNull Class<T> type, @NotNull Query query) {
+    timer.begin(Operation.DELETE_BY, type);
+    return wroteAll(delegate.deleteBy(type, query));
+  }
+
+  @Override
+  public <T> @NotNull Result<Long, VoltError> updateBy(
+      @NotNull Class<T> type, @NotNull Query query, @NotNull Map<String, Object> assignments) {
+    timer.begin(Operation.UPDATE_BY, type);
+    return wroteAll(delegate.updateBy(type, query, assignments));
+  }
+
+  @Override
+  public @NotNull Result<Void, VoltError> commit() {
+    long start = System.nanoTime();
+    Result<Void, VoltError> result = delegate.commit();
+    timer.listener().onTransactionEnd(Phase.COMMIT, outcome(result), System.nanoTime() - start);
+    return result;
+  }
+
+  @Override
+  public @NotNull Result<Void, VoltError> rollback() {
+    long start = System.nanoTime();
+    Result<Void, VoltError> result = delegate.rollback();
+    timer.listener().onTransactionEnd(Phase.ROLLBACK, outcome(result), System.nanoTime() - start);
+    return result;
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  private <R> Result<R, VoltError> read(Result<R, VoltError> result) {
+    timer.end(result.isSuccess());
+    return result;
+  }
+
+  private <R> Result<R, VoltError> wrote(Result<R, VoltError> result) {
+    timer.end(result.isSuccess(), result.isSuccess() ? 1 : 0);
+    return result;
+  }
+
+  private Result<Long, VoltError> wroteAll(Result<Long, VoltError> result) {
+    timer.end(result.isSuccess(), result.isSuccess() ? result.getValue() : 0);
+    return result;
+  }
+
+  private static Outcome outcome(Result<?, ?> result) {
+    return result.isSuccess() ? Outcome.SUCCESS : Outcome.FAILURE;
+  }
+}
@@ -0,0 +1,149 @@
+package me.oskarscot.volt.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import me.oskarscot.volt.metrics.Operation;
+import me.oskarscot.volt.metrics.OperationEvent;
+import me.oskarscot.volt.metrics.Outcome;
+import me.oskarscot.volt.metrics.VoltListener;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Accumulates the phase times of the operation a transaction is running and reports them to
+ * the listener when it ends.
+ *
+ * <p>Components take the timer as a nullable reference and skip timing when it is absent,
+ * so an instance without a listener pays only for the null checks. Phase time recorded
+ * outside an operation, such as while a stream is consumed, is discarded. Like the
+ * transaction it belongs to, a timer is confined to one thread.</p>
+ *
+ * <p>The timer also remembers which statement took longest to execute, by reference to the
+ * SQL the builders already hold, and when asked to, the values bound to each statement.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+final class OperationTimer {
+
+  private final VoltListener listener;
+  private final boolean captureBinds;
+
+  private Operation operation;
+  private Class<?> entity;
+  private long start;
+  private long prepareNanos;
+  private long executeNanos;
+  private long hydrateNanos;
+  private long rows;
+
+  private String currentSql;
+  private List<Object> currentBinds;
+  private long slowestExecute;
+  private String slowestSql;
+  private List<Object> slowestBinds;
+
+  OperationTimer(@NotNull VoltListener listener, boolean captureBinds) {
+    this.listener = listener;
+    this.captureBinds = captureBinds;
+  }
+
+  void begin(@NotNull Operation operation, @Nullable Class<?> entity) {
+    this.operation = operation;
+    this.entity = entity;
+    this.prepareNanos = 0;
+    this.executeNanos = 0;
+    this.hydrateNanos = 0;
+    this.rows = 0;
+    this.slowestExecute = -1;
+    this.slowestSql = null;
+    this.slowestBinds = null;
+    this.start = System.nanoTime();
+  }
+
+  /**
+   * Ends the current operation, reporting the rows read while it ran.
+   */
+  void end(boolean success) {
+    end(success, rows);
+  }
+
+  /**
+   * Ends the current operation with an explicit row count, as for writes.
+   */
+  void end(boolean success, long rows) {
+    if (operation == null) {
+      return;
+    }
+    long total = System.nanoTime() - start;
+    Outcome outcome = success ? Outcome.SUCCESS : Outcome.FAILURE;
+    OperationEvent event = new OperationEvent(
+        entity, operation, outcome, total, prepareNanos, executeNanos, hydrateNanos, rows,
+        slowestSql, slowestBinds);
+    operation = null;
+    listener.onOperation(event);
+  }
+
+  /**
+   * Records a prepared statement, which the next execution is attributed to.
+   */
+  void prepared(long startNanos, @NotNull String sql) {
+    currentSql = sql;
+    currentBinds = captureBinds ? new ArrayList<>() : null;
+    if (operation != null) {
+      prepareNanos += System.nanoTime() - startNanos;
+    }
+  }
+
+  void executed(long startNanos) {
+    if (operation != null) {
+      long elapsed = System.nanoTime() - startNanos;
+      executeNanos += elapsed;
+      if (elapsed > slowestExecute && currentSql != null) {
+        slowestExecute = elapsed;
+        slowestSql = currentSql;
+        slowestBinds = currentBinds;
+      }
+    }
+  }
+
+  /**
+   * Executions of statements prepared outside the statement cache, such as batches, are
+   * timed but not attributed to any SQL.
+   */
+  void executedUnattributed(long startNanos) {
+    currentSql = null;
+    executed(startNanos);
+  }
+
+  /**
+   * Records a value bound to the current statement.
+   */
+  void bound(int index, @Nullable Object value) {
+    List<Object> binds = currentBinds;
+    if (binds == null) {
+      return;
+    }
+    while (binds.size() < index) {
+      binds.add(null);
+    }
+    binds.set(index - 1, value);
+  }
+
+  boolean capturesBinds() {
+    return captureBinds;
+  }
+
+  void hydrated(long startNanos) {
+    if (operation != null) {
+      hydrateNanos += System.nanoTime() - startNanos;
+      rows++;
+    }
+  }
+
+  @NotNull
+  VoltListener listener() {
+    return listener;
+  }
+}
@@ -0,0 +1,115 @@
+package me.oskarscot.volt.internal;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import me.oskarscot.volt.VoltSettings;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The entities managed by one transaction.
+ *
+ * <p>Holds the identity map, which hands out a single instance per entity class and primary
+ * key for the lifetime of the transaction, and the column value snapshots used for dirty
+ * checking. Either can be disabled through {@link VoltSettings}.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+final class PersistenceContext {
+
+  private final boolean identityMap;
+  private final boolean dirtyChecking;
+
+  private final Map<EntityKey, Object> entities = new HashMap<>();
+  private final Map<Object, Object[]> snapshots = new IdentityHashMap<>();
+
+  PersistenceContext(@NotNull VoltSettings settings) {
+    this.identityMap = settings.isIdentityMap();
+    this.dirtyChecking = settings.isDirtyChecking();
+  }
+
+  /**
+   * Returns the managed instance of an entity, or {@code null} if it is not managed.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  <T> T find(@NotNull Class<T> type, @NotNull Object id) {
+    return identityMap ? (T) entities.get(new EntityKey(type, id)) : null;
+  }
+
+  /**
+   * Returns {@code true} if managed entities are snapshotted for dirty checking.
+   */
+  boolean isDirtyChecking() {
+    return dirtyChecking;
+  }
+
+  /**
+   * Starts or continues managing an entity, replacing any other instance with the same key.
+   *
+   * @param values the entity's column values as persisted, primary key first; only read,
+   *     and then required, if dirty checking is enabled
+   */
+  void manage(@NotNull Object entity, @NotNull Object id, @Nullable Object[] values) {
+    if (identityMap) {
+      Object previous = entities.put(new EntityKey(entity.getClass(), id), entity);
+      if (previous != null && previous != entity) {
+        snapshots.remove(previous);
+      }
+    }
+    if (dirtyChecking) {
+      snapshots.put(entity, values);
+    }
+  }
+
+  /**
+   * Returns the column values the entity had when it was last loaded or saved.
+   *
+   * @return the snapshot, or {@code null} if the entity is not tracked
+   */
+  @Nullable
+  Object[] snapshot(@NotNull Object entity) {
+    return snapshots.get(entity);
+  }
+
+  /**
+   * Stops managing the entity with the given key, if any.
+   */
+  void forget(@NotNull Class<?> type, @NotNull Object id) {
+    Object entity = entities.remove(new EntityKey(type, id));
+    if (entity != null) {
+      snapshots.remove(entity);
+    }
+  }
+
+  /**
+   * Stops managing an entity instance, along with any other instance sharing its key.
+   */
+  void forget(@NotNull Object entity, @Nullable Object id) {
+    snapshots.remove(entity);
+    if (id != null) {
+      forget(entity.getClass(), id);
+    }
+  }
+
+  /**
+   * Stops managing every entity of a type, as after a set-based write.
+   */
+  void forgetAll(@NotNull Class<?> type) {
+    entities.keySet().removeIf(key -> key.type() == type);
+    snapshots.keySet().removeIf(entity -> entity.getClass() == type);
+  }
+
+  /**
+   * Stops managing every entity, as after a rollback.
+   */
+  void clear() {
+    entities.clear();
+    snapshots.clear();
+  }
+
+  private record EntityKey(Class<?> type, Object id) {}
+}
@@ -0,0 +1,158 @@
+package me.oskarscot.volt.internal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import me.oskarscot.volt.StatementCacheStats;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded, least recently used cache of prepared statements for one connection.
+ *
+ * <p>Statements returned by {@link #prepare(String)} are owned by the cache and must not be
+ * closed by the caller; their result sets, however, must be closed once read. Every cached
+ * statement is closed when the cache is closed.</p>
+ *
+ * <p>With a capacity of zero nothing is cached: each statement stays open only until the
+ * next one is prepared or the cache is closed.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+final class StatementCache implements AutoCloseable {
+
+  private final Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final Connection connection;
+  private final int capacity;
+  private final Counters counters;
+  private final OperationTimer timer;
+  private final LinkedHashMap<Key, PreparedStatement> statements;
+  private PreparedStatement uncached;
+
+  StatementCache(
+      @NotNull Connection connection,
+      int capacity,
+      @NotNull Counters counters,
+      @Nullable OperationTimer timer) {
+    this.connection = connection;
+    this.capacity = capacity;
+    this.counters = counters;
+    this.timer = timer;
+    this.statements = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Returns a prepared statement for the SQL, reusing a cached one when possible.
+   */
+  @NotNull
+  PreparedStatement prepare(@NotNull String sql) throws SQLException {
+    return prepare(sql, Statement.NO_GENERATED_KEYS);
+  }
+
+  /**
+   * Returns a prepared statement for the SQL and generated keys mode, reusing a cached one
+   * when possible.
+   *
+   * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or
+   *     {@link Statement#NO_GENERATED_KEYS}
+   */
+  @NotNull
+  PreparedStatement prepare(@NotNull String sql, int autoGeneratedKeys) throws SQLException {
+    if (timer == null) {
+      return lookup(sql, autoGeneratedKeys);
+    }
+    long start = System.nanoTime();
+    try {
+      return lookup(sql, autoGeneratedKeys);
+    } finally {
+      timer.prepared(start, sql);
+    }
+  }
+
+  private PreparedStatement lookup(String sql, int autoGeneratedKeys) throws SQLException {
+    if (capacity == 0) {
+      closeUncached();
+      counters.misses.increment();
+      uncached = open(sql, autoGeneratedKeys);
+      return uncached;
+    }
+
+    Key key = new Key(sql, autoGeneratedKeys);
+    PreparedStatement stmt = statements.get(key);
+    if (stmt != null) {
+      counters.hits.increment();
+      return stmt;
+    }
+
+    counters.misses.increment();
+    stmt = open(sql, autoGeneratedKeys);
+    statements.put(key, stmt);
+
+    if (statements.size() > capacity) {
+      Iterator<PreparedStatement> eldest = statements.values().iterator();
+      close(eldest.next());
+      eldest.remove();
+      counters.evictions.increment();
+    }
+
+    return stmt;
+  }
+
+  private PreparedStatement open(String sql, int autoGeneratedKeys) throws SQLException {
+    PreparedStatement stmt = connection.prepareStatement(sql, autoGeneratedKeys);
+    return timer != null && timer.capturesBinds() ? BindRecorder.wrap(stmt, timer) : stmt;
+  }
+
+  /**
+   * Closes every cached statement.
+   */
+  @Override
+  public void close() {
+    closeUncached();
+    List<PreparedStatement> open = new ArrayList<>(statements.values());
+    statements.clear();
+    open.forEach(this::close);
+  }
+
+  private void closeUncached() {
+    if (uncached != null) {
+      close(uncached);
+      uncached = null;
+    }
+  }
+
+  private void close(PreparedStatement stmt) {
+    try {
+      stmt.close();
+    } catch (SQLException e) {
+      logger.warn("Failed to close cached statement", e);
+    }
+  }
+
+  private record Key(String sql, int autoGeneratedKeys) {}
+
+  /**
+   * Hit, miss and eviction counters shared by every statement cache of a Volt instance.
+   */
+  static final class Counters {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    StatementCacheStats snapshot() {
+      return new StatementCacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+  }
+}
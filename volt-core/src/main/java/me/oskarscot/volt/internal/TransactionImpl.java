@@ -1,28 +1,48 @@
 package me.oskarscot.volt.internal;
 
+import me.oskarscot.volt.Page;
 import me.oskarscot.volt.Result;
 import me.oskarscot.volt.Transaction;
-import me.oskarscot.volt.entity.EntityDefinition;
+import me.oskarscot.volt.VoltSettings;
 import me.oskarscot.volt.entity.FieldDefinition;
 import me.oskarscot.volt.entity.PrimaryKey;
-import me.oskarscot.volt.entity.PrimaryKeyType;
 import me.oskarscot.volt.exception.VoltError;
-import me.oskarscot.volt.internal.builders.DeleteBuilder;
-import me.oskarscot.volt.internal.builders.InsertBuilder;
-import me.oskarscot.volt.internal.builders.SelectBuilder;
+import me.oskarscot.volt.exception.VoltException;
 import me.oskarscot.volt.internal.builders.UpdateBuilder;
-import me.oskarscot.volt.internal.builders.UpsertBuilder;
+import me.oskarscot.volt.internal.cache.EntityCache;
+import me.oskarscot.volt.internal.cache.EntityCaches;
+import me.oskarscot.volt.internal.cache.QueryKey;
+import me.oskarscot.volt.internal.plan.EntityPlan;
+import me.oskarscot.volt.internal.plan.ProjectionPlan;
 import me.oskarscot.volt.internal.registry.ConverterRegistry;
 import me.oskarscot.volt.internal.registry.EntityRegistry;
 import me.oskarscot.volt.query.Condition;
+import me.oskarscot.volt.query.KeysetCursor;
+import me.oskarscot.volt.query.Order;
+import me.oskarscot.volt.query.Projection;
 import me.oskarscot.volt.query.Query;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class TransactionImpl implements Transaction {
 
@@ -30,83 +50,247 @@ public class TransactionImpl implements Transaction {
   private final ConverterRegistry converterRegistry;
   private final ConnectionManager connectionManager;
   private final Connection connection;
+  private final VoltSettings settings;
+  private final StatementCache statements;
+  private final PersistenceContext context;
+  private final EntityCaches caches;
+  private final OperationTimer timer;
+  private final Map<EntityCache, Set<Object>> writtenKeys = new HashMap<>();
+  private final Set<EntityCache> writtenCaches = new HashSet<>();
+  private Boolean postgres;
 
   @Internal
   TransactionImpl(
       EntityRegistry entityRegistry,
       ConverterRegistry converterRegistry,
       ConnectionManager connectionManager,
-      Connection connection) {
+      Connection connection,
+      VoltSettings settings,
+      StatementCache.Counters counters,
+      EntityCaches caches,
+      @Nullable OperationTimer timer) {
     this.entityRegistry = entityRegistry;
     this.converterRegistry = converterRegistry;
     this.connectionManager = connectionManager;
     this.connection = connection;
+    this.settings = settings;
+    this.statements =
+        new StatementCache(connection, settings.getStatementCacheSize(), counters, timer);
+    this.context = new PersistenceContext(settings);
+    this.caches = caches;
+    this.timer = timer;
   }
 
   @Override
   public <T> @NotNull Result<T, VoltError> save(@NotNull T entity) {
-    EntityDefinition<T> definition = (EntityDefinition<T>) entityRegistry.get(entity.getClass());
+    EntityPlan<T> plan = (EntityPlan<T>) entityRegistry.getPlan(entity.getClass());
 
-    if (definition == null) {
+    if (plan == null) {
       return Result.failure(
           new VoltError("Entity " + entity.getClass().getName() + " is not registered"));
     }
 
-    PrimaryKey pk = definition.getPrimaryKey();
-    pk.getField().setAccessible(true);
+    PrimaryKey pk = plan.getDefinition().getPrimaryKey();
 
-    Object pkValue;
-    try {
-      pkValue = pk.getField().get(entity);
-    } catch (IllegalAccessException e) {
-      return Result.failure(new VoltError("Cannot access primary key: " + e.getMessage()));
+    Object pkValue = pk.get(entity);
+
+    if (plan.requiresInsert(pkValue)) {
+      return insert(entity, plan);
     }
 
-    if (pkValue == null && pk.isGenerated() && pk.getPrimaryKeyType() == PrimaryKeyType.NUMBER) {
-      return insert(entity, definition);
+    Object[] snapshot = context.snapshot(entity);
+    if (snapshot != null && Objects.equals(snapshot[0], pkValue)) {
+      return update(entity, plan, snapshot);
     }
 
-    return upsert(entity, definition);
+    return upsert(entity, plan);
   }
 
-  private <T> Result<T, VoltError> upsert(T entity, EntityDefinition<T> definition) {
-    UpsertBuilder<T> builder = new UpsertBuilder<>(definition, entity, converterRegistry);
-    String sql = builder.toSql();
-
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-      builder.bindValues(stmt);
-      stmt.executeUpdate();
+  private <T> Result<T, VoltError> upsert(T entity, EntityPlan<T> plan) {
+    try {
+      PreparedStatement stmt = statements.prepare(plan.getUpsertSql());
+      plan.getUpsertBuilder().bindValues(stmt, entity);
+      executeUpdate(stmt);
+      manage(entity, plan);
+      invalidate(plan, pk(plan, entity));
       return Result.okay(entity);
-    } catch (SQLException | IllegalAccessException e) {
+    } catch (SQLException | VoltException e) {
       return Result.failure(new VoltError("Upsert failed: " + e.getMessage()));
     }
   }
 
+  @Override
+  public @NotNull Result<Long, VoltError> saveAll(@NotNull Iterable<?> entities) {
+    return saveAll(entities.iterator());
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> saveAll(@NotNull Stream<?> entities) {
+    try (entities) {
+      return saveAll(entities.iterator());
+    }
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> saveAll(@NotNull Iterator<?> entities) {
+    Set<EntityPlan<?>> unkeyed = new HashSet<>();
+    try (BatchWriter writer = newBatchWriter()) {
+      return Result.okay(writer.saveAll(forgetting(entities, unkeyed)));
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Save all failed: " + e.getMessage()));
+    } finally {
+      // rows saved without a key that could be reported back may replace any cached miss
+      unkeyed.forEach(this::invalidateAll);
+    }
+  }
+
   @Override
   public <T> @NotNull Result<T, VoltError> findById(@NotNull Class<T> type, @NotNull Object id) {
-    EntityDefinition<T> definition = (EntityDefinition<T>) entityRegistry.get(type);
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
 
-    if (definition == null) {
+    if (plan == null) {
       return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
     }
+    if (!plan.isPrimaryKeyValue(id)) {
+      return Result.failure(idTypeMismatch(plan, id));
+    }
 
-    SelectBuilder builder = new SelectBuilder(definition);
-    String sql = builder.toSqlById();
+    T managed = context.find(type, id);
+    if (managed != null) {
+      return Result.okay(managed);
+    }
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-      PrimaryKey pk = definition.getPrimaryKey();
-      converterRegistry.write(stmt, 1, id, pk.getField().getType());
+    EntityCache cache = caches.get(type);
+    long loadedAt = 0;
+    if (cache != null) {
+      Object[] cached = cache.get(id);
+      if (cached == EntityCache.MISSING) {
+        return Result.failure(new VoltError("Entity not found with id: " + id));
+      }
+      if (cached != null) {
+        return Result.okay(fromCache(plan, cached));
+      }
+      loadedAt = cache.generation();
+    }
+
+    try {
+      PreparedStatement stmt = statements.prepare(plan.getSelectByIdSql());
+      PrimaryKey pk = plan.getDefinition().getPrimaryKey();
+      converterRegistry.write(stmt, 1, id, pk);
+
+      try (ResultSet rs = executeQuery(stmt)) {
+        if (rs.next()) {
+          T entity = mapRow(rs, plan);
+          populate(cache, id, plan.getColumnValues(entity), loadedAt);
+          return Result.okay(entity);
+        } else {
+          populate(cache, id, EntityCache.MISSING, loadedAt);
+          return Result.failure(new VoltError("Entity not found with id: " + id));
+        }
+      }
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Find by id failed: " + e.getMessage()));
+    }
+  }
 
-      ResultSet rs = stmt.executeQuery();
+  @Override
+  public <T> @NotNull Result<List<T>, VoltError> findAllById(
+      @NotNull Class<T> type, @NotNull Collection<?> ids) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
 
-      if (rs.next()) {
-        T entity = mapRow(rs, definition);
-        return Result.okay(entity);
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    Set<Object> keys = new LinkedHashSet<>(ids);
+    if (keys.isEmpty()) {
+      return Result.okay(new ArrayList<>());
+    }
+    for (Object key : keys) {
+      if (!plan.isPrimaryKeyValue(key)) {
+        return Result.failure(idTypeMismatch(plan, key));
+      }
+    }
+
+    Map<Object, T> found = new HashMap<>(keys.size() * 2);
+    List<Object> missing = new ArrayList<>(keys.size());
+    for (Object key : keys) {
+      T managed = context.find(type, key);
+      if (managed != null) {
+        found.put(key, managed);
       } else {
-        return Result.failure(new VoltError("Entity not found with id: " + id));
+        missing.add(key);
       }
-    } catch (SQLException | ReflectiveOperationException e) {
-      return Result.failure(new VoltError("Find by id failed: " + e.getMessage()));
+    }
+
+    EntityCache cache = caches.get(type);
+    long loadedAt = 0;
+    if (cache != null) {
+      List<Object> uncached = new ArrayList<>(missing.size());
+      for (Object key : missing) {
+        Object[] cached = cache.get(key);
+        if (cached == null) {
+          uncached.add(key);
+        } else if (cached != EntityCache.MISSING) {
+          found.put(key, fromCache(plan, cached));
+        }
+      }
+      missing = uncached;
+      loadedAt = cache.generation();
+    }
+
+    try {
+      PrimaryKey pk = plan.getDefinition().getPrimaryKey();
+
+      String arrayType = plan.getPrimaryKeyArrayType();
+      if (!missing.isEmpty()) {
+        if (arrayType != null && isPostgres()) {
+          PreparedStatement stmt = statements.prepare(plan.getSelectByIdArraySql());
+          Array array = connection.createArrayOf(arrayType, missing.toArray());
+          try {
+            stmt.setArray(1, array);
+            collectById(stmt, plan, found);
+          } finally {
+            array.free();
+          }
+        } else {
+          int chunkSize = Math.min(settings.getBatchSize(), EntityPlan.MAX_SELECT_BY_IDS);
+          for (int from = 0; from < missing.size(); from += chunkSize) {
+            List<Object> chunk = missing.subList(from, Math.min(from + chunkSize, missing.size()));
+            int slots = EntityPlan.selectByIdsSlots(chunk.size());
+            PreparedStatement stmt = statements.prepare(plan.getSelectByIdsSql(slots));
+            int index = 1;
+            for (Object id : chunk) {
+              converterRegistry.write(stmt, index++, id, pk);
+            }
+            Object last = chunk.getLast();
+            while (index <= slots) {
+              converterRegistry.write(stmt, index++, last, pk);
+            }
+            collectById(stmt, plan, found);
+          }
+        }
+      }
+
+      if (cache != null) {
+        for (Object key : missing) {
+          T entity = found.get(key);
+          populate(cache, key, entity == null ? EntityCache.MISSING : plan.getColumnValues(entity),
+              loadedAt);
+        }
+      }
+
+      List<T> results = new ArrayList<>(found.size());
+      for (Object key : keys) {
+        T entity = found.get(key);
+        if (entity != null) {
+          results.add(entity);
+        }
+      }
+
+      return Result.okay(results);
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Find all by id failed: " + e.getMessage()));
     }
   }
 
@@ -133,83 +317,162 @@ public class TransactionImpl implements Transaction {
 
   @Override
   public <T> @NotNull Result<List<T>, VoltError> findAll(@NotNull Class<T> type) {
-    EntityDefinition<T> definition = (EntityDefinition<T>) entityRegistry.get(type);
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
 
-    if (definition == null) {
+    if (plan == null) {
       return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
     }
 
-    SelectBuilder builder = new SelectBuilder(definition);
-    String sql = builder.toSql();
+    try {
+      PreparedStatement stmt = statements.prepare(plan.getSelectSql());
+      try (ResultSet rs = executeQuery(stmt)) {
+        List<T> results = new ArrayList<>();
+        while (rs.next()) {
+          results.add(mapRow(rs, plan));
+        }
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-      ResultSet rs = stmt.executeQuery();
+        return Result.okay(results);
+      }
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Find all failed: " + e.getMessage()));
+    }
+  }
 
-      List<T> results = new ArrayList<>();
-      while (rs.next()) {
-        results.add(mapRow(rs, definition));
+  @Override
+  public <T> @NotNull Result<Long, VoltError> count(@NotNull Class<T> type, @NotNull Query query) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    String sql = plan.getSelectBuilder().toCountSql(query);
+
+    try {
+      PreparedStatement stmt = statements.prepare(sql);
+      bindQueryValues(stmt, query);
+      try (ResultSet rs = executeQuery(stmt)) {
+        if (!rs.next()) {
+          return Result.failure(new VoltError("Count failed: no row returned"));
+        }
+
+        return Result.okay(rs.getLong(1));
       }
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Count failed: " + e.getMessage()));
+    }
+  }
 
-      return Result.okay(results);
-    } catch (SQLException | ReflectiveOperationException e) {
-      return Result.failure(new VoltError("Find all failed: " + e.getMessage()));
+  @Override
+  public <T> @NotNull Result<Boolean, VoltError> exists(
+      @NotNull Class<T> type, @NotNull Query query) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    String sql = plan.getSelectBuilder().toExistsSql(query);
+
+    try {
+      PreparedStatement stmt = statements.prepare(sql);
+      bindQueryValues(stmt, query);
+      try (ResultSet rs = executeQuery(stmt)) {
+        return Result.okay(rs.next());
+      }
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Exists failed: " + e.getMessage()));
+    }
+  }
+
+  @Override
+  public <T> @NotNull Result<Boolean, VoltError> existsById(
+      @NotNull Class<T> type, @NotNull Object id) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    if (context.find(type, id) != null) {
+      return Result.okay(true);
+    }
+
+    EntityCache cache = caches.get(type);
+    if (cache != null) {
+      Object[] cached = cache.get(id);
+      if (cached != null) {
+        return Result.okay(cached != EntityCache.MISSING);
+      }
+    }
+
+    try {
+      PreparedStatement stmt = statements.prepare(plan.getExistsByIdSql());
+      PrimaryKey pk = plan.getDefinition().getPrimaryKey();
+      converterRegistry.write(stmt, 1, id, pk);
+      try (ResultSet rs = executeQuery(stmt)) {
+        return Result.okay(rs.next());
+      }
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Exists by id failed: " + e.getMessage()));
     }
   }
 
   @Override
   public <T> @NotNull Result<Optional<T>, VoltError> findFirstBy(
       @NotNull Class<T> type, @NotNull Query query) {
-    EntityDefinition<T> definition = (EntityDefinition<T>) entityRegistry.get(type);
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
 
-    if (definition == null) {
+    if (plan == null) {
       return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
     }
 
-    SelectBuilder builder = new SelectBuilder(definition);
-    String sql = builder.toSqlWithQuery(query) + " LIMIT 1";
+    String sql = plan.getSelectBuilder().toSqlWithQuery(query, 1);
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    try {
+      PreparedStatement stmt = statements.prepare(sql);
       bindQueryValues(stmt, query);
-      ResultSet rs = stmt.executeQuery();
-
-      if (rs.next()) {
-        T entity = mapRow(rs, definition);
-        return Result.okay(Optional.of(entity));
-      } else {
-        return Result.okay(Optional.empty());
+      try (ResultSet rs = executeQuery(stmt)) {
+        if (rs.next()) {
+          T entity = mapRow(rs, plan);
+          return Result.okay(Optional.of(entity));
+        } else {
+          return Result.okay(Optional.empty());
+        }
       }
-    } catch (SQLException | ReflectiveOperationException e) {
+    } catch (SQLException | VoltException e) {
       return Result.failure(new VoltError("Find first failed: " + e.getMessage()));
     }
   }
 
   @Override
   public <T> @NotNull Result<T, VoltError> findOneBy(@NotNull Class<T> type, @NotNull Query query) {
-    EntityDefinition<T> definition = (EntityDefinition<T>) entityRegistry.get(type);
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
 
-    if (definition == null) {
+    if (plan == null) {
       return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
     }
 
-    SelectBuilder builder = new SelectBuilder(definition);
-    String sql = builder.toSqlWithQuery(query);
+    // Two rows are enough to tell "exactly one" from "multiple"
+    String sql = plan.getSelectBuilder().toSqlWithQuery(query, 2);
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    try {
+      PreparedStatement stmt = statements.prepare(sql);
       bindQueryValues(stmt, query);
-      ResultSet rs = stmt.executeQuery();
+      try (ResultSet rs = executeQuery(stmt)) {
+        if (!rs.next()) {
+          return Result.failure(new VoltError("Entity not found"));
+        }
 
-      if (!rs.next()) {
-        return Result.failure(new VoltError("Entity not found"));
-      }
+        T entity = mapRow(rs, plan);
 
-      T entity = mapRow(rs, definition);
+        if (rs.next()) {
+          return Result.failure(new VoltError("Expected one result but found multiple"));
+        }
 
-      if (rs.next()) {
-        return Result.failure(new VoltError("Expected one result but found multiple"));
+        return Result.okay(entity);
       }
-
-      return Result.okay(entity);
-    } catch (SQLException | ReflectiveOperationException e) {
+    } catch (SQLException | VoltException e) {
       return Result.failure(new VoltError("Find one failed: " + e.getMessage()));
     }
   }
@@ -217,73 +480,240 @@ public class TransactionImpl implements Transaction {
   @Override
   public <T> @NotNull Result<List<T>, VoltError> findAllBy(
       @NotNull Class<T> type, @NotNull Query query) {
-    EntityDefinition<T> definition = (EntityDefinition<T>) entityRegistry.get(type);
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
 
-    if (definition == null) {
+    if (plan == null) {
       return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
     }
 
-    SelectBuilder builder = new SelectBuilder(definition);
-    String sql = builder.toSqlWithQuery(query);
+    String sql = plan.getSelectBuilder().toSqlWithQuery(query);
+
+    EntityCache cache = query.isCached() ? caches.get(type) : null;
+    if (cache != null && !hasWritten(cache)) {
+      return findAllCached(plan, cache, sql, query);
+    }
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    try {
+      PreparedStatement stmt = statements.prepare(sql);
       bindQueryValues(stmt, query);
-      ResultSet rs = stmt.executeQuery();
+      try (ResultSet rs = executeQuery(stmt)) {
+        List<T> results = new ArrayList<>();
+        while (rs.next()) {
+          results.add(mapRow(rs, plan));
+        }
 
-      List<T> results = new ArrayList<>();
-      while (rs.next()) {
-        results.add(mapRow(rs, definition));
+        return Result.okay(results);
+      }
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Find all failed: " + e.getMessage()));
+    }
+  }
+
+  /**
+   * Runs a query through the second-level cache. Rows are always read in full, even for
+   * instances the persistence context already holds, since those may carry unsaved changes
+   * that must not reach the cache.
+   */
+  private <T> Result<List<T>, VoltError> findAllCached(
+      EntityPlan<T> plan, EntityCache cache, String sql, Query query) {
+    QueryKey key = new QueryKey(sql, query.collectValues());
+    Object[][] rows = cache.getResults(key);
+
+    if (rows == null) {
+      long loadedAt = cache.generation();
+      try {
+        PreparedStatement stmt = statements.prepare(sql);
+        bindQueryValues(stmt, query);
+        try (ResultSet rs = executeQuery(stmt)) {
+          List<Object[]> loaded = new ArrayList<>();
+          while (rs.next()) {
+            loaded.add(readRow(rs, plan));
+          }
+          rows = loaded.toArray(new Object[0][]);
+        }
+      } catch (SQLException | VoltException e) {
+        return Result.failure(new VoltError("Find all failed: " + e.getMessage()));
       }
+      cache.putResults(key, rows, loadedAt);
+    }
 
-      return Result.okay(results);
-    } catch (SQLException | ReflectiveOperationException e) {
+    Class<T> type = plan.getDefinition().getClazz();
+    List<T> results = new ArrayList<>(rows.length);
+    for (Object[] row : rows) {
+      T managed = row[0] == null ? null : context.find(type, row[0]);
+      results.add(managed != null ? managed : fromCache(plan, row));
+    }
+    return Result.okay(results);
+  }
+
+  @Override
+  public <T, R> @NotNull Result<List<R>, VoltError> findAllBy(
+      @NotNull Class<T> type, @NotNull Query query, @NotNull Projection<R> projection) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    try {
+      ProjectionPlan projected = plan.getProjection(projection);
+      FieldDefinition[] columns = projected.columns();
+      String sql = plan.getSelectBuilder()
+          .toSqlWithQuery(projected.selectSql(), query, query.getLimit());
+
+      PreparedStatement stmt = statements.prepare(sql);
+      bindQueryValues(stmt, query);
+      try (ResultSet rs = executeQuery(stmt)) {
+        List<R> results = new ArrayList<>();
+        while (rs.next()) {
+          Object[] values = new Object[columns.length];
+          for (int i = 0; i < columns.length; i++) {
+            values[i] = converterRegistry.read(rs, i + 1, columns[i]);
+          }
+          results.add(projection.create(values));
+        }
+
+        return Result.okay(results);
+      }
+    } catch (SQLException | VoltException e) {
       return Result.failure(new VoltError("Find all failed: " + e.getMessage()));
     }
   }
 
+  @Override
+  public <T> @NotNull Result<Page<T>, VoltError> findPage(
+      @NotNull Class<T> type, @NotNull Query query) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    if (query.getOrders().isEmpty() || query.getLimit() == 0) {
+      return Result.failure(new VoltError("Page queries require an ORDER BY and a limit"));
+    }
+
+    List<FieldDefinition> orderFields = new ArrayList<>();
+    for (Order order : query.getOrders()) {
+      FieldDefinition field = plan.getColumn(order.field());
+      if (field == null) {
+        return Result.failure(new VoltError("Unknown order column: " + order.field()));
+      }
+      orderFields.add(field);
+    }
+
+    int pageSize = query.getLimit();
+
+    try {
+      PreparedStatement stmt =
+          statements.prepare(plan.getSelectBuilder().toSqlWithQuery(query, pageSize + 1));
+      bindQueryValues(stmt, query);
+      try (ResultSet rs = executeQuery(stmt)) {
+        List<T> items = new ArrayList<>();
+        while (rs.next()) {
+          items.add(mapRow(rs, plan));
+        }
+
+        if (items.size() <= pageSize) {
+          return Result.okay(new Page<>(items, null));
+        }
+
+        items.removeLast();
+        T last = items.getLast();
+        List<Object> lastValues = new ArrayList<>(orderFields.size());
+        for (FieldDefinition field : orderFields) {
+          lastValues.add(field.get(last));
+        }
+
+        return Result.okay(new Page<>(items, KeysetCursor.encode(lastValues)));
+      }
+    } catch (SQLException | VoltException | IllegalArgumentException | IllegalStateException e) {
+      return Result.failure(new VoltError("Find page failed: " + e.getMessage()));
+    }
+  }
+
+  @Override
+  public <T> @NotNull Result<Stream<T>, VoltError> stream(
+      @NotNull Class<T> type, @NotNull Query query) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    return openStream(plan, plan.getSelectBuilder().toSqlWithQuery(query), query);
+  }
+
+  @Override
+  public <T> @NotNull Result<Stream<T>, VoltError> streamAll(@NotNull Class<T> type) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    return openStream(plan, plan.getSelectSql(), null);
+  }
+
   @Override
   public <T> @NotNull Result<Void, VoltError> delete(@NotNull T entity) {
-    EntityDefinition<T> definition = (EntityDefinition<T>) entityRegistry.get(entity.getClass());
+    EntityPlan<T> plan = (EntityPlan<T>) entityRegistry.getPlan(entity.getClass());
 
-    if (definition == null) {
+    if (plan == null) {
       return Result.failure(
           new VoltError("Entity " + entity.getClass().getName() + " is not registered"));
     }
 
-    PrimaryKey pk = definition.getPrimaryKey();
-    pk.getField().setAccessible(true);
+    PrimaryKey pk = plan.getDefinition().getPrimaryKey();
 
-    Object pkValue;
-    try {
-      pkValue = pk.getField().get(entity);
-    } catch (IllegalAccessException e) {
-      return Result.failure(new VoltError("Cannot access primary key: " + e.getMessage()));
-    }
+    Object pkValue = pk.get(entity);
 
     if (pkValue == null) {
       return Result.failure(new VoltError("Cannot delete entity with null primary key"));
     }
 
+    context.forget(entity, pkValue);
     return deleteById((Class<T>) entity.getClass(), pkValue);
   }
 
+  @Override
+  public @NotNull Result<Long, VoltError> deleteAll(@NotNull Iterable<?> entities) {
+    return deleteAll(entities.iterator());
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> deleteAll(@NotNull Stream<?> entities) {
+    try (entities) {
+      return deleteAll(entities.iterator());
+    }
+  }
+
+  @Override
+  public @NotNull Result<Long, VoltError> deleteAll(@NotNull Iterator<?> entities) {
+    try (BatchWriter writer = newBatchWriter()) {
+      return Result.okay(writer.deleteAll(forgetting(entities, new HashSet<>())));
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Delete all failed: " + e.getMessage()));
+    }
+  }
+
   @Override
   public <T> @NotNull Result<Void, VoltError> deleteById(
       @NotNull Class<T> type, @NotNull Object id) {
-    EntityDefinition<T> definition = (EntityDefinition<T>) entityRegistry.get(type);
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
 
-    if (definition == null) {
+    if (plan == null) {
       return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
     }
 
-    DeleteBuilder builder = new DeleteBuilder(definition);
-    String sql = builder.toSql();
-
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-      PrimaryKey pk = definition.getPrimaryKey();
-      converterRegistry.write(stmt, 1, id, pk.getField().getType());
+    try {
+      PreparedStatement stmt = statements.prepare(plan.getDeleteByIdSql());
+      PrimaryKey pk = plan.getDefinition().getPrimaryKey();
+      converterRegistry.write(stmt, 1, id, pk);
 
-      int affected = stmt.executeUpdate();
+      int affected = executeUpdate(stmt);
+      context.forget(type, id);
+      invalidate(plan, id);
 
       if (affected == 0) {
         return Result.failure(new VoltError("Entity not found with id: " + id));
@@ -295,11 +725,80 @@ public class TransactionImpl implements Transaction {
     }
   }
 
+  @Override
+  public <T> @NotNull Result<Long, VoltError> deleteBy(
+      @NotNull Class<T> type, @NotNull Query query) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    String sql = plan.getDeleteBuilder().toSqlWithQuery(query);
+
+    try {
+      PreparedStatement stmt = statements.prepare(sql);
+      bindQueryValues(stmt, query);
+
+      context.forgetAll(type);
+      invalidateAll(plan);
+      return Result.okay(executeLargeUpdate(stmt));
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Delete by query failed: " + e.getMessage()));
+    }
+  }
+
+  @Override
+  public <T> @NotNull Result<Long, VoltError> updateBy(
+      @NotNull Class<T> type, @NotNull Query query, @NotNull Map<String, Object> assignments) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    if (assignments.isEmpty()) {
+      return Result.failure(new VoltError("Update by query requires at least one assignment"));
+    }
+
+    List<FieldDefinition> assigned = new ArrayList<>(assignments.size());
+    List<Object> values = new ArrayList<>(assignments.size());
+    for (Map.Entry<String, Object> assignment : assignments.entrySet()) {
+      FieldDefinition field = plan.getColumn(assignment.getKey());
+      if (field == null) {
+        return Result.failure(new VoltError("Unknown column '" + assignment.getKey()
+            + "' for entity " + type.getName()));
+      }
+      assigned.add(field);
+      values.add(assignment.getValue());
+    }
+
+    String sql = plan.getUpdateBuilder().toSqlWithQuery(assigned, query);
+
+    try {
+      PreparedStatement stmt = statements.prepare(sql);
+      int index = 1;
+      for (int i = 0; i < assigned.size(); i++) {
+        converterRegistry.write(stmt, index++, values.get(i), assigned.get(i));
+      }
+      bindQueryValues(stmt, query, index);
+
+      // Managed instances of this type may no longer match their rows
+      context.forgetAll(type);
+      invalidateAll(plan);
+      return Result.okay(executeLargeUpdate(stmt));
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Update by query failed: " + e.getMessage()));
+    }
+  }
+
   @Override
   public @NotNull Result<Void, VoltError> commit() {
     try {
       connection.commit();
       connection.setAutoCommit(true);
+      connectionManager.committed(connection);
+      flushInvalidations();
       return Result.okay(null);
     } catch (SQLException e) {
       return Result.failure(new VoltError("Commit failed: " + e.getMessage()));
@@ -311,6 +810,9 @@ public class TransactionImpl implements Transaction {
     try {
       connection.rollback();
       connection.setAutoCommit(true);
+      context.clear();
+      writtenKeys.clear();
+      writtenCaches.clear();
       return Result.okay(null);
     } catch (SQLException e) {
       return Result.failure(new VoltError("Rollback failed: " + e.getMessage()));
@@ -319,76 +821,366 @@ public class TransactionImpl implements Transaction {
 
   @Override
   public void close() {
-    connectionManager.release(connection);
+    connectionManager.release(connection, statements);
   }
 
-  private <T> Result<T, VoltError> insert(T entity, EntityDefinition<T> definition) {
-    InsertBuilder<T> builder = new InsertBuilder<>(definition, entity, converterRegistry);
-    String sql = builder.toSql();
+  /**
+   * Wraps a batch write's input so that each entity is dropped from the persistence context
+   * and the second-level cache as it is written, as batched rows are not snapshotted.
+   *
+   * <p>Entities without a key yet are invalidated once the batch writer reports their
+   * generated key. Types whose key cannot be reported are collected in {@code unkeyed}, so the
+   * caller can clear their caches once for the whole write.</p>
+   */
+  private Iterator<?> forgetting(Iterator<?> entities, Set<EntityPlan<?>> unkeyed) {
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return entities.hasNext();
+      }
 
-    try (PreparedStatement stmt =
-        connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-      builder.bindValues(stmt);
-      stmt.executeUpdate();
+      @Override
+      public Object next() {
+        Object entity = entities.next();
+        EntityPlan<?> plan = entity == null ? null : entityRegistry.getPlan(entity.getClass());
+        if (plan != null) {
+          Object id = plan.getDefinition().getPrimaryKey().get(entity);
+          context.forget(entity, id);
+          if (id != null) {
+            invalidate(plan, id);
+          } else if (!plan.requiresInsert(null)) {
+            unkeyed.add(plan);
+          }
+        }
+        return entity;
+      }
+    };
+  }
 
-      if (definition.getPrimaryKey().isGenerated()
-          && definition.getPrimaryKey().getPrimaryKeyType() == PrimaryKeyType.NUMBER) {
-        ResultSet keys = stmt.getGeneratedKeys();
-        if (keys.next()) {
-          Object generatedId = keys.getLong(1);
-          definition.getPrimaryKey().getField().set(entity, generatedId);
+  private BatchWriter newBatchWriter() {
+    return new BatchWriter(
+        entityRegistry, converterRegistry, connection, settings, timer, this::invalidate);
+  }
+
+  private <T> Result<T, VoltError> insert(T entity, EntityPlan<T> plan) {
+    try {
+      PreparedStatement stmt =
+          statements.prepare(plan.getInsertSql(), Statement.RETURN_GENERATED_KEYS);
+      plan.getInsertBuilder().bindValues(stmt, entity);
+      executeUpdate(stmt);
+
+      if (plan.hasGeneratedNumberKey()) {
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+          if (keys.next()) {
+            Object generatedId = keys.getLong(1);
+            plan.getDefinition().getPrimaryKey().set(entity, generatedId);
+          }
         }
       }
 
+      manage(entity, plan);
+      invalidate(plan, pk(plan, entity));
       return Result.okay(entity);
-    } catch (SQLException | IllegalAccessException e) {
+    } catch (SQLException | VoltException e) {
       return Result.failure(new VoltError("Insert failed: " + e.getMessage()));
     }
   }
 
-  private <T> Result<T, VoltError> update(T entity, EntityDefinition<T> definition) {
-    UpdateBuilder<T> builder = new UpdateBuilder<>(definition, entity, converterRegistry);
-    String sql = builder.toSql();
+  /**
+   * Updates only the columns that differ from the entity's snapshot, or nothing at all if
+   * none do. Falls back to an upsert if the row no longer exists.
+   */
+  private <T> Result<T, VoltError> update(T entity, EntityPlan<T> plan, Object[] snapshot) {
+    FieldDefinition[] columns = plan.getSelectColumns();
+    Object[] current = new Object[columns.length];
+    current[0] = snapshot[0];
+
+    // Snapshot index i is update column i - 1, as the primary key comes first
+    BitSet changed = new BitSet(columns.length - 1);
+    for (int i = 1; i < columns.length; i++) {
+      current[i] = columns[i].get(entity);
+      if (!Objects.deepEquals(current[i], snapshot[i])) {
+        changed.set(i - 1);
+      }
+    }
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-      builder.bindValues(stmt);
+    if (changed.isEmpty()) {
+      return Result.okay(entity);
+    }
 
-      int affected = stmt.executeUpdate();
+    try {
+      UpdateBuilder<T> builder = plan.getUpdateBuilder();
+      PreparedStatement stmt = statements.prepare(builder.toSql(changed));
+      builder.bindValues(stmt, entity, changed);
 
-      if (affected == 0) {
-        return Result.failure(new VoltError("Entity not found - update affected 0 rows"));
+      if (executeUpdate(stmt) == 0) {
+        return upsert(entity, plan);
       }
 
+      context.manage(entity, current[0], current);
+      invalidate(plan, current[0]);
       return Result.okay(entity);
-    } catch (SQLException | IllegalAccessException e) {
+    } catch (SQLException | VoltException e) {
       return Result.failure(new VoltError("Update failed: " + e.getMessage()));
     }
   }
 
-  private <T> T mapRow(ResultSet rs, EntityDefinition<T> definition)
-      throws SQLException, ReflectiveOperationException {
-    T entity = definition.getClazz().getDeclaredConstructor().newInstance();
+  /**
+   * Registers a just-saved entity with the persistence context.
+   */
+  private <T> void manage(T entity, EntityPlan<T> plan) {
+    Object[] values = plan.getColumnValues(entity);
+    if (values[0] != null) {
+      context.manage(entity, values[0], values);
+    }
+  }
+
+  /**
+   * Hydrates an entity from second-level cache values and registers it with the persistence
+   * context. The snapshot gets its own copy, as the cached array is shared.
+   */
+  private <T> T fromCache(EntityPlan<T> plan, Object[] values) {
+    T entity = plan.hydrate(values);
+    context.manage(entity, values[0], values.clone());
+    return entity;
+  }
+
+  /**
+   * Caches a loaded row, unless this transaction wrote to it: such a row may hold values
+   * other transactions cannot see yet.
+   */
+  private void populate(EntityCache cache, Object id, Object[] values, long loadedAt) {
+    if (cache == null || writtenCaches.contains(cache)) {
+      return;
+    }
+    Set<Object> written = writtenKeys.get(cache);
+    if (written == null || !written.contains(id)) {
+      cache.put(id, values, loadedAt);
+    }
+  }
 
-    PrimaryKey pk = definition.getPrimaryKey();
-    Object pkValue = converterRegistry.read(rs, pk.getColumnName(), pk.getField().getType());
-    pk.getField().setAccessible(true);
-    pk.getField().set(entity, pkValue);
+  /**
+   * Drops a written entity from the second-level cache now, so other transactions stop
+   * reading it, and again on commit, in case they cached the old row in the meantime.
+   */
+  private void invalidate(EntityPlan<?> plan, Object id) {
+    EntityCache cache = caches.get(plan.getDefinition().getClazz());
+    if (cache != null && id != null) {
+      cache.invalidate(id);
+      writtenKeys.computeIfAbsent(cache, c -> new HashSet<>()).add(id);
+    }
+  }
 
-    for (FieldDefinition field : definition.getFields()) {
-      Object value = converterRegistry.read(rs, field.getColumnName(), field.getField().getType());
-      field.getField().setAccessible(true);
-      field.getField().set(entity, value);
+  private void invalidateAll(EntityPlan<?> plan) {
+    EntityCache cache = caches.get(plan.getDefinition().getClazz());
+    if (cache != null) {
+      cache.invalidateAll();
+      writtenCaches.add(cache);
     }
+  }
+
+  private boolean hasWritten(EntityCache cache) {
+    return writtenCaches.contains(cache) || writtenKeys.containsKey(cache);
+  }
+
+  private void flushInvalidations() {
+    writtenKeys.forEach((cache, ids) -> ids.forEach(cache::invalidate));
+    writtenCaches.forEach(EntityCache::invalidateAll);
+    writtenKeys.clear();
+    writtenCaches.clear();
+  }
 
+  private static <T> Object pk(EntityPlan<T> plan, T entity) {
+    return plan.getDefinition().getPrimaryKey().get(entity);
+  }
+
+  private <T> T mapRow(ResultSet rs, EntityPlan<T> plan) throws SQLException {
+    return mapRow(rs, plan, true);
+  }
+
+  /**
+   * Hydrates the current row.
+   *
+   * @param managed whether to resolve the row through, and register it with, the persistence
+   *     context; an already managed instance is returned as is, without reading the row
+   */
+  private <T> T mapRow(ResultSet rs, EntityPlan<T> plan, boolean managed) throws SQLException {
+    long start = timer == null ? 0 : System.nanoTime();
+    FieldDefinition[] columns = plan.getSelectColumns();
+    Object id = converterRegistry.read(rs, 1, columns[0]);
+
+    if (managed && id != null) {
+      T existing = context.find(plan.getDefinition().getClazz(), id);
+      if (existing != null) {
+        if (timer != null) {
+          timer.hydrated(start);
+        }
+        return existing;
+      }
+    }
+
+    T entity = plan.getDefinition().newInstance();
+    columns[0].set(entity, id);
+    boolean manage = managed && id != null;
+
+    for (int i = 1; i < columns.length; i++) {
+      converterRegistry.readField(rs, i + 1, entity, columns[i]);
+    }
+    if (manage) {
+      Object[] values = null;
+      if (context.isDirtyChecking()) {
+        // The snapshot is taken from the hydrated fields, which hold the values as read
+        values = new Object[columns.length];
+        values[0] = id;
+        for (int i = 1; i < columns.length; i++) {
+          values[i] = columns[i].get(entity);
+        }
+      }
+      context.manage(entity, id, values);
+    }
+    if (timer != null) {
+      timer.hydrated(start);
+    }
     return entity;
   }
 
+  /**
+   * Reads the current row's column values in select order, without hydrating an entity.
+   */
+  private Object[] readRow(ResultSet rs, EntityPlan<?> plan) throws SQLException {
+    long start = timer == null ? 0 : System.nanoTime();
+    FieldDefinition[] columns = plan.getSelectColumns();
+    Object[] values = new Object[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      values[i] = converterRegistry.read(rs, i + 1, columns[i]);
+    }
+    if (timer != null) {
+      timer.hydrated(start);
+    }
+    return values;
+  }
+
+  private <T> Result<Stream<T>, VoltError> openStream(EntityPlan<T> plan, String sql, Query query) {
+    PreparedStatement stmt = null;
+    try {
+      stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      stmt.setFetchSize(settings.getFetchSize());
+      if (query != null) {
+        bindQueryValues(stmt, query);
+      }
+      ResultSet rs = executeQuery(stmt);
+
+      PreparedStatement openStmt = stmt;
+      Spliterator<T> rows =
+          new Spliterators.AbstractSpliterator<>(
+              Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+              try {
+                if (!rs.next()) {
+                  return false;
+                }
+                action.accept(mapRow(rs, plan, false));
+                return true;
+              } catch (SQLException e) {
+                throw new VoltException("Stream failed: " + e.getMessage(), e);
+              }
+            }
+          };
+
+      return Result.okay(StreamSupport.stream(rows, false).onClose(() -> closeStream(rs, openStmt)));
+    } catch (SQLException | VoltException e) {
+      if (stmt != null) {
+        try {
+          stmt.close();
+        } catch (SQLException ignored) {
+          // the original failure is the one worth reporting
+        }
+      }
+      return Result.failure(new VoltError("Stream failed: " + e.getMessage()));
+    }
+  }
+
+  private void closeStream(ResultSet rs, PreparedStatement stmt) {
+    try (stmt; rs) {
+      // closes the cursor and releases the statement
+    } catch (SQLException e) {
+      throw new VoltException("Failed to close stream: " + e.getMessage(), e);
+    }
+  }
+
+  private static VoltError idTypeMismatch(EntityPlan<?> plan, @Nullable Object id) {
+    return new VoltError("Id " + id + " is not a " + plan.getPrimaryKeyClass().getName()
+        + ", the primary key type of " + plan.getDefinition().getClazz().getName());
+  }
+
+  private <T> void collectById(PreparedStatement stmt, EntityPlan<T> plan, Map<Object, T> found)
+      throws SQLException {
+    PrimaryKey pk = plan.getDefinition().getPrimaryKey();
+    try (ResultSet rs = executeQuery(stmt)) {
+      while (rs.next()) {
+        T entity = mapRow(rs, plan);
+        found.put(pk.get(entity), entity);
+      }
+    }
+  }
+
+  private ResultSet executeQuery(PreparedStatement stmt) throws SQLException {
+    if (timer == null) {
+      return stmt.executeQuery();
+    }
+    long start = System.nanoTime();
+    try {
+      return stmt.executeQuery();
+    } finally {
+      timer.executed(start);
+    }
+  }
+
+  private int executeUpdate(PreparedStatement stmt) throws SQLException {
+    if (timer == null) {
+      return stmt.executeUpdate();
+    }
+    long start = System.nanoTime();
+    try {
+      return stmt.executeUpdate();
+    } finally {
+      timer.executed(start);
+    }
+  }
+
+  private long executeLargeUpdate(PreparedStatement stmt) throws SQLException {
+    if (timer == null) {
+      return stmt.executeLargeUpdate();
+    }
+    long start = System.nanoTime();
+    try {
+      return stmt.executeLargeUpdate();
+    } finally {
+      timer.executed(start);
+    }
+  }
+
+  private boolean isPostgres() throws SQLException {
+    if (postgres == null) {
+      postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+    return postgres;
+  }
+
   private void bindQueryValues(PreparedStatement stmt, Query query) throws SQLException {
-    int index = 1;
+    bindQueryValues(stmt, query, 1);
+  }
+
+  private void bindQueryValues(PreparedStatement stmt, Query query, int index)
+      throws SQLException {
     for (Condition condition : query.getConditions()) {
       for (Object value : condition.getValues()) {
         converterRegistry.write(stmt, index++, value, value.getClass());
       }
     }
+    for (Object value : query.getKeysetValues()) {
+      converterRegistry.write(stmt, index++, value, value.getClass());
+    }
   }
 }
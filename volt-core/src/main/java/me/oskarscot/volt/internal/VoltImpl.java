@@ -7,20 +7,41 @@ import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import me.oskarscot.volt.AsyncVolt;
+import me.oskarscot.volt.BulkLoadResult;
+import me.oskarscot.volt.CacheStats;
 import me.oskarscot.volt.Result;
+import me.oskarscot.volt.StatementCacheStats;
 import me.oskarscot.volt.Transaction;
 import me.oskarscot.volt.Volt;
+import me.oskarscot.volt.VoltSettings;
+import me.oskarscot.volt.connection.ConnectionProvider;
 import me.oskarscot.volt.exception.VoltError;
+import me.oskarscot.volt.exception.VoltException;
+import me.oskarscot.volt.internal.cache.EntityCache;
+import me.oskarscot.volt.internal.cache.EntityCaches;
+import me.oskarscot.volt.internal.plan.EntityPlan;
 import me.oskarscot.volt.internal.registry.ConverterRegistry;
 import me.oskarscot.volt.internal.registry.EntityRegistry;
+import me.oskarscot.volt.metrics.Operation;
+import me.oskarscot.volt.metrics.OperationEvent;
+import me.oskarscot.volt.metrics.Outcome;
+import me.oskarscot.volt.metrics.SlowQueryLog;
+import me.oskarscot.volt.metrics.VoltListener;
 
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 public final class VoltImpl implements Volt {
 
@@ -29,20 +50,57 @@ public final class VoltImpl implements Volt {
   private final ConnectionManager connectionManager;
   private final EntityRegistry entityRegistry;
   private final ConverterRegistry converterRegistry;
+  private final VoltSettings settings;
+  private final StatementCache.Counters statementCacheCounters = new StatementCache.Counters();
+  private final EntityCaches entityCaches = new EntityCaches();
+  private final AsyncVolt async;
+  private final VoltListener listener;
+  private final boolean captureBinds;
 
   @Internal
   public VoltImpl(HikariDataSource dataSource) {
+    this(dataSource, VoltSettings.defaults());
+  }
+
+  @Internal
+  public VoltImpl(HikariDataSource dataSource, VoltSettings settings) {
+    this(ConnectionProvider.of(dataSource), settings);
+  }
+
+  @Internal
+  public VoltImpl(ConnectionProvider connectionProvider, VoltSettings settings) {
+    this(connectionProvider, List.of(), settings);
+  }
+
+  @Internal
+  public VoltImpl(
+      ConnectionProvider connectionProvider, List<ConnectionProvider> replicas, VoltSettings settings) {
     this.logger.info("Initializing Volt...");
-    this.connectionManager = new ConnectionManager(dataSource);
-    this.converterRegistry = new ConverterRegistry();
+    this.settings = settings;
+    SlowQueryLog slowQueryLog = settings.getSlowQueryLog();
+    this.listener = slowQueryLog == null
+        ? settings.getListener()
+        : VoltListener.composite(settings.getListener(), slowQueryLog);
+    this.captureBinds = slowQueryLog != null && slowQueryLog.capturesBindValues();
+    this.connectionManager = new ConnectionManager(
+        connectionProvider,
+        replicas,
+        settings.getLoadBalancingPolicy(),
+        settings.getReadYourWritesWindow());
+    if (!replicas.isEmpty()) {
+      this.logger.info("Routing read-only transactions to {} replicas", replicas.size());
+    }
+    this.converterRegistry = new ConverterRegistry(listener);
     this.entityRegistry = new EntityRegistry(converterRegistry);
     registerDefaultConverters();
+    this.async = createAsync(connectionProvider.getMaxConnections());
     this.logger.info("Initialized Volt");
   }
 
   @Override
   public void registerEntity(@NotNull Class<?> entityClass) {
     this.entityRegistry.registerEntity(entityClass);
+    this.entityCaches.register(entityClass);
   }
 
   @Override
@@ -53,7 +111,23 @@ public final class VoltImpl implements Volt {
 
   @Override
   public @NotNull Transaction beginTransaction() {
-    Connection connection = connectionManager.acquire();
+    return begin(false);
+  }
+
+  @Override
+  public @NotNull Transaction beginReadOnlyTransaction() {
+    return begin(true);
+  }
+
+  private Transaction begin(boolean readOnly) {
+    boolean instrumented = listener != VoltListener.NOOP;
+
+    long start = instrumented ? System.nanoTime() : 0;
+    Connection connection = readOnly ? connectionManager.acquireReadOnly() : connectionManager.acquire();
+    if (instrumented) {
+      listener.onAcquire(
+          connection == null ? Outcome.FAILURE : Outcome.SUCCESS, System.nanoTime() - start);
+    }
 
     if (connection == null) {
       throw new RuntimeException("Failed to acquire connection from pool");
@@ -61,7 +135,17 @@ public final class VoltImpl implements Volt {
 
     try {
       connection.setAutoCommit(false);
-      return new TransactionImpl(entityRegistry, converterRegistry, connectionManager, connection);
+      OperationTimer timer = instrumented ? new OperationTimer(listener, captureBinds) : null;
+      Transaction tx = new TransactionImpl(
+          entityRegistry,
+          converterRegistry,
+          connectionManager,
+          connection,
+          settings,
+          statementCacheCounters,
+          entityCaches,
+          timer);
+      return timer == null ? tx : new InstrumentedTransaction(tx, timer);
     } catch (SQLException e) {
       connectionManager.release(connection);
       throw new RuntimeException("Failed to begin transaction: " + e.getMessage(), e);
@@ -82,7 +166,20 @@ public final class VoltImpl implements Volt {
 
   @Override
   public <T> @NotNull Result<T, VoltError> findById(@NotNull Class<T> type, @NotNull Object id) {
-    try (Transaction tx = beginTransaction()) {
+    // Serve cached rows without borrowing a connection; misses are counted by the transaction
+    EntityCache cache = entityCaches.get(type);
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+    if (cache != null && plan != null) {
+      Object[] cached = cache.probe(id);
+      if (cached == EntityCache.MISSING) {
+        return Result.failure(new VoltError("Entity not found with id: " + id));
+      }
+      if (cached != null) {
+        return Result.okay(plan.hydrate(cached));
+      }
+    }
+
+    try (Transaction tx = beginReadOnlyTransaction()) {
       Result<T, VoltError> result = tx.findById(type, id);
       if (result.isSuccess()) {
         tx.commit();
@@ -113,6 +210,87 @@ public final class VoltImpl implements Volt {
     }
   }
 
+  @Override
+  public <T> @NotNull Result<BulkLoadResult, VoltError> bulkLoad(
+      @NotNull Class<T> type, @NotNull Stream<T> entities) {
+    EntityPlan<T> plan = entityRegistry.getPlan(type);
+
+    if (plan == null) {
+      entities.close();
+      return Result.failure(new VoltError("Entity " + type.getName() + " is not registered"));
+    }
+
+    Connection connection = connectionManager.acquire();
+
+    if (connection == null) {
+      entities.close();
+      return Result.failure(new VoltError("Failed to acquire connection from pool"));
+    }
+
+    try (entities) {
+      if (!CopyLoader.isSupported(connection)) {
+        return Result.failure(new VoltError("Bulk load requires a PostgreSQL connection"));
+      }
+
+      long start = System.nanoTime();
+      connection.setAutoCommit(false);
+      long rows = new CopyLoader(converterRegistry).load(connection, plan, entities.iterator());
+      connection.commit();
+      connection.setAutoCommit(true);
+      connectionManager.committed(connection);
+
+      EntityCache cache = entityCaches.get(type);
+      if (cache != null) {
+        cache.invalidateAll();
+      }
+
+      BulkLoadResult result = new BulkLoadResult(rows, Duration.ofNanos(System.nanoTime() - start));
+      if (listener != VoltListener.NOOP) {
+        long nanos = result.elapsed().toNanos();
+        listener.onOperation(new OperationEvent(
+            type, Operation.BULK_LOAD, Outcome.SUCCESS, nanos, 0, nanos, 0, rows, null, null));
+      }
+      this.logger.info(
+          "Bulk loaded {} rows into {} in {} ms ({} rows/s)",
+          rows,
+          plan.getDefinition().getTableName(),
+          result.elapsed().toMillis(),
+          Math.round(result.rowsPerSecond()));
+      return Result.okay(result);
+    } catch (SQLException | VoltException e) {
+      return Result.failure(new VoltError("Bulk load failed: " + e.getMessage()));
+    } catch (NoClassDefFoundError e) {
+      return Result.failure(new VoltError("Bulk load requires the PostgreSQL JDBC driver"));
+    } finally {
+      connectionManager.release(connection);
+    }
+  }
+
+  @Override
+  public @NotNull Optional<CacheStats> getCacheStats(@NotNull Class<?> type) {
+    EntityCache cache = entityCaches.get(type);
+    return cache == null ? Optional.empty() : Optional.of(cache.stats());
+  }
+
+  @Override
+  public @NotNull StatementCacheStats getStatementCacheStats() {
+    return statementCacheCounters.snapshot();
+  }
+
+  @Override
+  public @NotNull AsyncVolt async() {
+    return async;
+  }
+
+  private AsyncVolt createAsync(int poolSize) {
+    Executor executor = settings.getAsyncExecutor();
+    if (executor == null) {
+      executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("volt-async-", 0).factory());
+    }
+    int concurrency = settings.getAsyncConcurrency();
+    return new AsyncVoltImpl(this, executor, concurrency > 0 ? concurrency : poolSize);
+  }
+
   private void registerDefaultConverters() {
     this.converterRegistry.register(String.class, new StringConverter());
 
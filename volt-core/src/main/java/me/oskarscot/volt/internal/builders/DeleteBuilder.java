@@ -6,20 +6,32 @@ import me.oskarscot.volt.query.Query;
 public class DeleteBuilder implements SqlBuilder {
 
   private final EntityDefinition<?> definition;
+  private final String sql;
 
   public DeleteBuilder(EntityDefinition<?> definition) {
     this.definition = definition;
+    this.sql =
+        String.format(
+            "DELETE FROM %s WHERE %s = ?",
+            definition.getTableName(), definition.getPrimaryKey().getColumnName());
   }
 
   @Override
   public String toSql() {
-    return String.format(
-        "DELETE FROM %s WHERE %s = ?",
-        definition.getTableName(), definition.getPrimaryKey().getColumnName());
+    return sql;
   }
 
+  /**
+   * Builds a set-based DELETE for the rows matching a query.
+   *
+   * <p>A query without conditions deletes every row. ORDER BY and LIMIT are ignored.</p>
+   */
   public String toSqlWithQuery(Query query) {
-    return String.format(
-        "DELETE FROM %s WHERE %s", definition.getTableName(), query.toWhereClause());
+    String where = query.toWhereClause();
+    if (where.isEmpty()) {
+      return "DELETE FROM " + definition.getTableName();
+    }
+
+    return String.format("DELETE FROM %s WHERE %s", definition.getTableName(), where);
   }
 }
@@ -4,5 +4,5 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 public interface EntitySqlBuilder<T> extends SqlBuilder {
-  void bindValues(PreparedStatement stmt) throws SQLException, IllegalAccessException;
+  void bindValues(PreparedStatement stmt, T entity) throws SQLException;
 }
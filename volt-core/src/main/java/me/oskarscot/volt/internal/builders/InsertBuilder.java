@@ -9,6 +9,8 @@ import me.oskarscot.volt.internal.registry.ConverterRegistry;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -16,63 +18,96 @@ import java.util.stream.Collectors;
 public class InsertBuilder<T> implements EntitySqlBuilder<T> {
 
   private final EntityDefinition<T> definition;
-  private final T entity;
   private final ConverterRegistry converterRegistry;
+  private final FieldDefinition[] columns;
+  private final String columnList;
+  private final String rowPlaceholders;
+  private final String sql;
 
-  public InsertBuilder(
-      EntityDefinition<T> definition, T entity, ConverterRegistry converterRegistry) {
+  public InsertBuilder(EntityDefinition<T> definition, ConverterRegistry converterRegistry) {
     this.definition = definition;
-    this.entity = entity;
     this.converterRegistry = converterRegistry;
+    this.columns = resolveColumns(definition);
+    this.columnList =
+        Arrays.stream(columns).map(FieldDefinition::getColumnName).collect(Collectors.joining(", "));
+    this.rowPlaceholders =
+        Arrays.stream(columns).map(c -> "?").collect(Collectors.joining(", ", "(", ")"));
+    this.sql = buildSql(1);
   }
 
   @Override
   public String toSql() {
-    String sql = "INSERT INTO %s (%s) VALUES (%s)";
-    String tableName = definition.getTableName();
+    return sql;
+  }
 
-    List<String> columns = new ArrayList<>();
+  /**
+   * Builds a single INSERT statement covering {@code rows} rows.
+   *
+   * <p>A generated {@link PrimaryKeyType#NUMBER} key is returned through a {@code RETURNING}
+   * clause, one row per inserted row in VALUES order, so the statement must be executed as
+   * a query.</p>
+   *
+   * @param rows the number of rows in the VALUES list
+   */
+  public String toSql(int rows) {
+    String insert = buildSql(rows);
 
     PrimaryKey pk = definition.getPrimaryKey();
-    if (shouldIncludePrimaryKey(pk)) {
-      columns.add(pk.getColumnName());
-    }
-
-    for (FieldDefinition field : definition.getFields()) {
-      columns.add(field.getColumnName());
+    if (pk.isGenerated() && pk.getPrimaryKeyType() == PrimaryKeyType.NUMBER) {
+      insert += " RETURNING " + pk.getColumnName();
     }
+    return insert;
+  }
 
-    String fieldList = String.join(", ", columns);
-    String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
-
-    return String.format(sql, tableName, fieldList, placeholders);
+  public FieldDefinition[] getColumns() {
+    return columns;
   }
 
   @Override
-  public void bindValues(PreparedStatement stmt) throws SQLException, IllegalAccessException {
-    int index = 1;
+  public void bindValues(PreparedStatement stmt, T entity) throws SQLException {
+    bindValues(stmt, entity, 1);
+  }
+
+  /**
+   * Binds one row starting at the given parameter index.
+   *
+   * @return the parameter index following the last bound value
+   */
+  public int bindValues(PreparedStatement stmt, T entity, int index) throws SQLException {
     PrimaryKey pk = definition.getPrimaryKey();
-    if (shouldIncludePrimaryKey(pk)) {
-      Object pkValue;
-      if (pk.isGenerated() && pk.getPrimaryKeyType() == PrimaryKeyType.UUID) {
-        pkValue = UUID.randomUUID();
-        pk.getField().setAccessible(true);
-        pk.getField().set(entity, pkValue);
+    for (FieldDefinition column : columns) {
+      if (column == pk && pk.isGenerated() && pk.getPrimaryKeyType() == PrimaryKeyType.UUID) {
+        Object value = UUID.randomUUID();
+        pk.set(entity, value);
+        converterRegistry.write(stmt, index++, value, pk);
       } else {
-        pk.getField().setAccessible(true);
-        pkValue = pk.getField().get(entity);
+        converterRegistry.writeField(stmt, index++, entity, column);
       }
-      converterRegistry.write(stmt, index++, pkValue, pk.getField().getType());
     }
+    return index;
+  }
+
+  private String buildSql(int rows) {
+    String sql = "INSERT INTO %s (%s) VALUES %s";
+    String tableName = definition.getTableName();
+    String values = String.join(", ", Collections.nCopies(rows, rowPlaceholders));
+
+    return String.format(sql, tableName, columnList, values);
+  }
 
-    for (FieldDefinition field : definition.getFields()) {
-      field.getField().setAccessible(true);
-      Object value = field.getField().get(entity);
-      converterRegistry.write(stmt, index++, value, field.getField().getType());
+  private static FieldDefinition[] resolveColumns(EntityDefinition<?> definition) {
+    List<FieldDefinition> columns = new ArrayList<>();
+
+    PrimaryKey pk = definition.getPrimaryKey();
+    if (shouldIncludePrimaryKey(pk)) {
+      columns.add(pk);
     }
+    columns.addAll(definition.getFields());
+
+    return columns.toArray(FieldDefinition[]::new);
   }
 
-  private boolean shouldIncludePrimaryKey(PrimaryKey pk) {
+  private static boolean shouldIncludePrimaryKey(PrimaryKey pk) {
     if (!pk.isGenerated()) {
       return true;
     }
@@ -5,40 +5,134 @@ import me.oskarscot.volt.entity.FieldDefinition;
 import me.oskarscot.volt.query.Query;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class SelectBuilder implements SqlBuilder {
 
   private final EntityDefinition<?> definition;
+  private final FieldDefinition[] columns;
+  private final String sql;
+  private final String countSql;
+  private final String existsSql;
 
   public SelectBuilder(EntityDefinition<?> definition) {
     this.definition = definition;
+    this.columns = definition.getAllFields().toArray(FieldDefinition[]::new);
+    this.sql = buildSelectClause(columns) + " FROM " + definition.getTableName();
+    this.countSql = "SELECT COUNT(*) FROM " + definition.getTableName();
+    this.existsSql = "SELECT 1 FROM " + definition.getTableName();
   }
 
   @Override
   public String toSql() {
-    return buildSelectClause() + " FROM " + definition.getTableName();
+    return sql;
   }
 
   public String toSqlById() {
-    return toSql() + " WHERE " + definition.getPrimaryKey().getColumnName() + " = ?";
+    return sql + " WHERE " + definition.getPrimaryKey().getColumnName() + " = ?";
+  }
+
+  /**
+   * Builds a {@code SELECT COUNT(*)} for the rows matching a query.
+   *
+   * <p>ORDER BY and LIMIT are ignored, as neither changes the number of matching rows.</p>
+   */
+  public String toCountSql(Query query) {
+    String where = query.toWhereClause();
+    return where.isEmpty() ? countSql : countSql + " WHERE " + where;
+  }
+
+  /**
+   * Builds a {@code SELECT 1 ... LIMIT 1} that returns a row only if the query matches one.
+   */
+  public String toExistsSql(Query query) {
+    String where = query.toWhereClause();
+    return where.isEmpty() ? existsSql + " LIMIT 1" : existsSql + " WHERE " + where + " LIMIT 1";
+  }
+
+  /**
+   * Builds a SELECT matching any primary key in a single array parameter
+   * ({@code pk = ANY(?)}), as supported by PostgreSQL.
+   */
+  public String toSqlByIdArray() {
+    return sql + " WHERE " + definition.getPrimaryKey().getColumnName() + " = ANY(?)";
+  }
+
+  /**
+   * Builds a SELECT matching any of {@code count} primary keys with an IN list.
+   *
+   * @param count the number of key placeholders
+   */
+  public String toSqlByIds(int count) {
+    return sql + " WHERE " + definition.getPrimaryKey().getColumnName()
+        + " IN (" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+  }
+
+  public String toExistsSqlById() {
+    return existsSql + " WHERE " + definition.getPrimaryKey().getColumnName() + " = ?";
   }
 
   public String toSqlWithQuery(Query query) {
-    return toSql() + " WHERE " + query.toWhereClause();
+    return toSqlWithQuery(query, query.getLimit());
   }
 
-  private String buildSelectClause() {
-    List<String> columns = new ArrayList<>();
+  /**
+   * Builds the SELECT for a query, overriding its row limit.
+   *
+   * @param limit the row limit, or {@code 0} for none
+   */
+  public String toSqlWithQuery(Query query, int limit) {
+    return toSqlWithQuery(sql, query, limit);
+  }
 
-    // Add primary key
-    columns.add(definition.getPrimaryKey().getColumnName());
+  /**
+   * Builds a SELECT reading only the given columns, without any WHERE clause.
+   *
+   * @param projected the columns to read, in result set order
+   */
+  public String toProjectedSql(FieldDefinition[] projected) {
+    return buildSelectClause(projected) + " FROM " + definition.getTableName();
+  }
+
+  /**
+   * Appends a query's WHERE, ORDER BY and LIMIT clauses to a base SELECT.
+   *
+   * @param select the base SELECT, as returned by {@link #toSql()} or {@link #toProjectedSql}
+   * @param limit the row limit, or {@code 0} for none
+   */
+  public String toSqlWithQuery(String select, Query query, int limit) {
+    StringBuilder builder = new StringBuilder(select);
+
+    String where = query.toWhereClause();
+    if (!where.isEmpty()) {
+      builder.append(" WHERE ").append(where);
+    }
+
+    if (!query.getOrders().isEmpty()) {
+      builder.append(" ORDER BY ").append(query.toOrderByClause());
+    }
+
+    if (limit > 0) {
+      builder.append(" LIMIT ").append(limit);
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Returns the selected columns in the order they appear in the SELECT clause, primary key first.
+   */
+  public FieldDefinition[] getColumns() {
+    return columns;
+  }
 
-    // Add other fields
-    for (FieldDefinition field : definition.getFields()) {
-      columns.add(field.getColumnName());
+  private String buildSelectClause(FieldDefinition[] selected) {
+    List<String> columnNames = new ArrayList<>();
+    for (FieldDefinition column : selected) {
+      columnNames.add(column.getColumnName());
     }
 
-    return "SELECT " + String.join(", ", columns);
+    return "SELECT " + String.join(", ", columnNames);
   }
 }
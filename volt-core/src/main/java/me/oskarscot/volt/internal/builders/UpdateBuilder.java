@@ -2,54 +2,99 @@ package me.oskarscot.volt.internal.builders;
 
 import me.oskarscot.volt.entity.EntityDefinition;
 import me.oskarscot.volt.entity.FieldDefinition;
-import me.oskarscot.volt.entity.PrimaryKey;
 import me.oskarscot.volt.internal.registry.ConverterRegistry;
+import me.oskarscot.volt.query.Query;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-public class UpdateBuilder<T> implements EntitySqlBuilder<T> {
+public class UpdateBuilder<T> {
+
+  private static final int MAX_CACHED_PARTIAL_STATEMENTS = 256;
 
   private final EntityDefinition<T> definition;
-  private final T entity;
   private final ConverterRegistry converterRegistry;
+  private final FieldDefinition[] columns;
+  private final Map<BitSet, String> partialSql = new ConcurrentHashMap<>();
 
-  public UpdateBuilder(
-      EntityDefinition<T> definition, T entity, ConverterRegistry converterRegistry) {
+  public UpdateBuilder(EntityDefinition<T> definition, ConverterRegistry converterRegistry) {
     this.definition = definition;
-    this.entity = entity;
     this.converterRegistry = converterRegistry;
+    this.columns = definition.getFields().toArray(FieldDefinition[]::new);
   }
 
-  @Override
-  public String toSql() {
-    String sql = "UPDATE %s SET %s WHERE %s = ?";
-    String tableName = definition.getTableName();
+  /**
+   * Builds an UPDATE of only the changed columns of one entity, matched by primary key.
+   *
+   * <p>The statement text is cached per column set, as the same few combinations tend to
+   * recur.</p>
+   *
+   * @param changed the indexes into {@link #getColumns()} of the columns to update
+   */
+  public String toSql(BitSet changed) {
+    String cached = partialSql.get(changed);
+    if (cached != null) {
+      return cached;
+    }
 
     String setClause =
-        definition.getFields().stream()
-            .map(field -> field.getColumnName() + " = ?")
+        changed.stream()
+            .mapToObj(index -> columns[index].getColumnName() + " = ?")
             .collect(Collectors.joining(", "));
 
-    String pkColumn = definition.getPrimaryKey().getColumnName();
+    String partial =
+        String.format(
+            "UPDATE %s SET %s WHERE %s = ?",
+            definition.getTableName(), setClause, definition.getPrimaryKey().getColumnName());
 
-    return String.format(sql, tableName, setClause, pkColumn);
+    if (partialSql.size() < MAX_CACHED_PARTIAL_STATEMENTS) {
+      partialSql.put((BitSet) changed.clone(), partial);
+    }
+    return partial;
   }
 
-  @Override
-  public void bindValues(PreparedStatement stmt) throws SQLException, IllegalAccessException {
+  /**
+   * Binds the changed column values and then the primary key of an entity.
+   *
+   * @param changed the indexes into {@link #getColumns()} of the columns to bind
+   */
+  public void bindValues(PreparedStatement stmt, T entity, BitSet changed) throws SQLException {
     int index = 1;
 
-    for (FieldDefinition field : definition.getFields()) {
-      field.getField().setAccessible(true);
-      Object value = field.getField().get(entity);
-      converterRegistry.write(stmt, index++, value, field.getField().getType());
+    for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+      converterRegistry.writeField(stmt, index++, entity, columns[i]);
     }
 
-    PrimaryKey pk = definition.getPrimaryKey();
-    pk.getField().setAccessible(true);
-    Object pkValue = pk.getField().get(entity);
-    converterRegistry.write(stmt, index, pkValue, pk.getField().getType());
+    converterRegistry.writeField(stmt, index, entity, definition.getPrimaryKey());
+  }
+
+  /**
+   * Builds a set-based UPDATE assigning the given columns on every row matching a query.
+   *
+   * <p>The SET placeholders come first, followed by the query's values. A query without
+   * conditions updates every row. ORDER BY and LIMIT are ignored.</p>
+   *
+   * @param assigned the columns to assign, in placeholder order
+   * @param query the query selecting the rows to update
+   */
+  public String toSqlWithQuery(List<FieldDefinition> assigned, Query query) {
+    String setClause =
+        assigned.stream()
+            .map(field -> field.getColumnName() + " = ?")
+            .collect(Collectors.joining(", "));
+
+    String update = String.format("UPDATE %s SET %s", definition.getTableName(), setClause);
+    String where = query.toWhereClause();
+
+    return where.isEmpty() ? update : update + " WHERE " + where;
+  }
+
+  public FieldDefinition[] getColumns() {
+    return columns;
   }
 }
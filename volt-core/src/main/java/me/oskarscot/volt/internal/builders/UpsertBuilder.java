@@ -2,8 +2,8 @@ package me.oskarscot.volt.internal.builders;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import me.oskarscot.volt.entity.EntityDefinition;
@@ -15,59 +15,79 @@ import me.oskarscot.volt.internal.registry.ConverterRegistry;
 public class UpsertBuilder<T> implements EntitySqlBuilder<T> {
 
   private final EntityDefinition<T> definition;
-  private final T entity;
   private final ConverterRegistry converterRegistry;
+  private final FieldDefinition[] columns;
+  private final String columnList;
+  private final String rowPlaceholders;
+  private final String updateSet;
+  private final String sql;
 
-  public UpsertBuilder(
-      EntityDefinition<T> definition, T entity, ConverterRegistry converterRegistry) {
+  public UpsertBuilder(EntityDefinition<T> definition, ConverterRegistry converterRegistry) {
     this.definition = definition;
-    this.entity = entity;
     this.converterRegistry = converterRegistry;
+    this.columns = definition.getAllFields().toArray(FieldDefinition[]::new);
+    this.columnList =
+        Arrays.stream(columns).map(FieldDefinition::getColumnName).collect(Collectors.joining(", "));
+    this.rowPlaceholders =
+        Arrays.stream(columns).map(c -> "?").collect(Collectors.joining(", ", "(", ")"));
+    this.updateSet =
+        definition.getFields().stream()
+            .map(field -> field.getColumnName() + " = EXCLUDED." + field.getColumnName())
+            .collect(Collectors.joining(", "));
+    this.sql = toSql(1);
   }
 
   @Override
   public String toSql() {
+    return sql;
+  }
+
+  /**
+   * Builds a single upsert statement covering {@code rows} rows.
+   *
+   * <p>PostgreSQL rejects a multi-row upsert that touches the same key twice, so callers
+   * must not place duplicate keys in one statement.</p>
+   *
+   * @param rows the number of rows in the VALUES list
+   */
+  public String toSql(int rows) {
     String tableName = definition.getTableName();
     PrimaryKey pk = definition.getPrimaryKey();
-
-    List<String> columns = new ArrayList<>();
-    columns.add(pk.getColumnName());
-    for (FieldDefinition field : definition.getFields()) {
-      columns.add(field.getColumnName());
-    }
-
-    String columnList = String.join(", ", columns);
-    String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
-
-    String updateSet =
-        definition.getFields().stream()
-            .map(field -> field.getColumnName() + " = EXCLUDED." + field.getColumnName())
-            .collect(Collectors.joining(", "));
+    String values = String.join(", ", Collections.nCopies(rows, rowPlaceholders));
 
     return String.format(
-        "INSERT INTO %s (%s) VALUES (%s) ON CONFLICT (%s) DO UPDATE SET %s",
-        tableName, columnList, placeholders, pk.getColumnName(), updateSet);
+        "INSERT INTO %s (%s) VALUES %s ON CONFLICT (%s) DO UPDATE SET %s",
+        tableName, columnList, values, pk.getColumnName(), updateSet);
+  }
+
+  public FieldDefinition[] getColumns() {
+    return columns;
   }
 
   @Override
-  public void bindValues(PreparedStatement stmt) throws SQLException, IllegalAccessException {
-    int index = 1;
+  public void bindValues(PreparedStatement stmt, T entity) throws SQLException {
+    bindValues(stmt, entity, 1);
+  }
 
+  /**
+   * Binds one row starting at the given parameter index.
+   *
+   * @return the parameter index following the last bound value
+   */
+  public int bindValues(PreparedStatement stmt, T entity, int index) throws SQLException {
     PrimaryKey pk = definition.getPrimaryKey();
-    pk.getField().setAccessible(true);
-    Object pkValue = pk.getField().get(entity);
+    Object pkValue = pk.get(entity);
 
     if (pkValue == null && pk.isGenerated() && pk.getPrimaryKeyType() == PrimaryKeyType.UUID) {
       pkValue = UUID.randomUUID();
-      pk.getField().set(entity, pkValue);
+      pk.set(entity, pkValue);
     }
 
-    converterRegistry.write(stmt, index++, pkValue, pk.getField().getType());
+    converterRegistry.write(stmt, index++, pkValue, pk);
 
-    for (FieldDefinition field : definition.getFields()) {
-      field.getField().setAccessible(true);
-      Object value = field.getField().get(entity);
-      converterRegistry.write(stmt, index++, value, field.getField().getType());
+    for (int i = 1; i < columns.length; i++) {
+      converterRegistry.writeField(stmt, index++, entity, columns[i]);
     }
+    return index;
   }
 }
@@ -0,0 +1,242 @@
+package me.oskarscot.volt.internal.cache;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import me.oskarscot.volt.CacheStats;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A concurrent, size-bounded, expiring cache of one entity type's column values by primary key
+ * and of its query results by {@link QueryKey}.
+ *
+ * <p>Values are stored as column arrays rather than entity instances, so every reader
+ * hydrates its own instance and callers can never modify cached state. Since every entry
+ * lives for the same time, insertion order is also expiry order: a FIFO queue serves both
+ * for evicting the oldest entries when the cache is full and for purging expired ones.</p>
+ *
+ * <p>A load may race with a concurrent write's invalidation and store a value that is
+ * already stale. To prevent that, readers take the {@link #generation()} before querying
+ * and {@link #put} discards the value if any invalidation happened in between.</p>
+ *
+ * <p>Query results depend on every row of the type, so any invalidation makes them stale.
+ * Rather than scanning for them, each result remembers the generation it was loaded at and
+ * is ignored once the generation has moved on; stale results then age out of the queue like
+ * any other entry. Results share the entry limit with rows, one entry per result list.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+public final class EntityCache {
+
+  /** Marks a cached lookup of a key with no row. */
+  public static final Object[] MISSING = new Object[0];
+
+  /** Marks a row entry, which invalidation removes directly instead of by generation. */
+  private static final long ANY_GENERATION = -1;
+
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final boolean cacheMisses;
+
+  private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+  private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger orderLength = new AtomicInteger();
+  private final AtomicLong generation = new AtomicLong();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public EntityCache(long ttlNanos, int maxEntries, boolean cacheMisses) {
+    if (ttlNanos <= 0) {
+      throw new IllegalArgumentException("Cache TTL must be positive");
+    }
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("Cache max entries must be positive");
+    }
+    this.ttlNanos = ttlNanos;
+    this.maxEntries = maxEntries;
+    this.cacheMisses = cacheMisses;
+  }
+
+  /**
+   * Looks up a key.
+   *
+   * @return the cached column values, {@link #MISSING} for a cached miss, or {@code null}
+   *     if the key is not cached
+   */
+  @Nullable
+  public Object[] get(@NotNull Object id) {
+    return lookup(id, true);
+  }
+
+  /**
+   * Looks up a key like {@link #get}, but without counting a miss, for callers that fall
+   * back to a path which looks the key up again.
+   */
+  @Nullable
+  public Object[] probe(@NotNull Object id) {
+    return lookup(id, false);
+  }
+
+  /**
+   * Returns the current invalidation generation, to be passed to {@link #put} after loading.
+   */
+  public long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Caches a key's column values, or {@link #MISSING} if it has no row, unless the cache
+   * was invalidated since {@code loadedAt} was taken.
+   */
+  public void put(@NotNull Object id, @NotNull Object[] values, long loadedAt) {
+    if (values == MISSING && !cacheMisses) {
+      return;
+    }
+
+    Entry entry = new Entry(id, values, System.nanoTime() + ttlNanos, ANY_GENERATION);
+    entries.put(id, entry);
+
+    // Re-check after publishing so an invalidation racing with this put always wins
+    if (generation.get() != loadedAt) {
+      entries.remove(id, entry);
+      return;
+    }
+
+    enqueue(entry);
+  }
+
+  /**
+   * Looks up a query's cached rows.
+   *
+   * @return the column values of each row in result order, or {@code null} if the query is
+   *     not cached or was cached before the latest invalidation
+   */
+  @Nullable
+  public Object[][] getResults(@NotNull QueryKey key) {
+    return (Object[][]) lookup(key, true);
+  }
+
+  /**
+   * Caches a query's rows, unless the cache was invalidated since {@code loadedAt} was taken.
+   */
+  public void putResults(@NotNull QueryKey key, @NotNull Object[][] rows, long loadedAt) {
+    if (generation.get() != loadedAt) {
+      return;
+    }
+
+    // An invalidation racing with this put leaves the entry behind a newer generation
+    Entry entry = new Entry(key, rows, System.nanoTime() + ttlNanos, loadedAt);
+    entries.put(key, entry);
+    enqueue(entry);
+  }
+
+  /**
+   * Drops a key, as after the entity was saved or deleted.
+   */
+  public void invalidate(@NotNull Object id) {
+    generation.incrementAndGet();
+    entries.remove(id);
+  }
+
+  /**
+   * Drops every key, as after a set-based write.
+   */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  @NotNull
+  public CacheStats stats() {
+    return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.mappingCount());
+  }
+
+  private Object[] lookup(Object id, boolean countMiss) {
+    Entry entry = entries.get(id);
+    boolean expired = entry != null && entry.expiresAt - System.nanoTime() <= 0;
+    if (entry != null && !expired && entry.isCurrent(generation.get())) {
+      hits.increment();
+      return entry.values;
+    }
+
+    if (entry != null && entries.remove(id, entry) && expired) {
+      evictions.increment();
+    }
+    if (countMiss) {
+      misses.increment();
+    }
+    return null;
+  }
+
+  private void enqueue(Entry entry) {
+    order.add(entry);
+    if (orderLength.incrementAndGet() > maxEntries * 2 + 64) {
+      compact();
+    }
+    evict();
+  }
+
+  /**
+   * Removes expired entries from the head of the queue, then the oldest live ones while
+   * the cache is over capacity.
+   */
+  private void evict() {
+    long now = System.nanoTime();
+    Entry head;
+    while ((head = order.peek()) != null) {
+      boolean stale = entries.get(head.id) != head;
+      boolean expired = head.expiresAt - now <= 0;
+      if (!stale && !expired && entries.mappingCount() <= maxEntries) {
+        return;
+      }
+      if (order.remove(head)) {
+        orderLength.decrementAndGet();
+        if (!stale && entries.remove(head.id, head)) {
+          evictions.increment();
+        }
+      }
+    }
+  }
+
+  /**
+   * Drops queue nodes whose entries were replaced or invalidated, which otherwise pile up
+   * behind a live head when keys are rewritten more often than they expire.
+   */
+  private void compact() {
+    for (Iterator<Entry> it = order.iterator(); it.hasNext(); ) {
+      Entry entry = it.next();
+      if (entries.get(entry.id) != entry) {
+        it.remove();
+        orderLength.decrementAndGet();
+      }
+    }
+  }
+
+  private static final class Entry {
+
+    private final Object id;
+    private final Object[] values;
+    private final long expiresAt;
+    private final long generation;
+
+    private Entry(Object id, Object[] values, long expiresAt, long generation) {
+      this.id = id;
+      this.values = values;
+      this.expiresAt = expiresAt;
+      this.generation = generation;
+    }
+
+    private boolean isCurrent(long current) {
+      return generation == ANY_GENERATION || generation == current;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package me.oskarscot.volt.internal.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import me.oskarscot.volt.annotation.Cacheable;
+import me.oskarscot.volt.exception.VoltException;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The second-level caches of a Volt instance, one per {@link Cacheable} entity.
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+public final class EntityCaches {
+
+  private final Map<Class<?>, EntityCache> caches = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the cache for an entity class if it is annotated with {@link Cacheable}.
+   *
+   * @param entityClass the entity class
+   * @throws VoltException if the cache settings are invalid
+   */
+  public void register(@NotNull Class<?> entityClass) {
+    Cacheable cacheable = entityClass.getAnnotation(Cacheable.class);
+    if (cacheable == null) {
+      return;
+    }
+    if (cacheable.ttl() <= 0 || cacheable.maxEntries() <= 0) {
+      throw new VoltException(
+          "Entity " + entityClass.getName() + " must have a positive @Cacheable ttl and maxEntries");
+    }
+
+    caches.computeIfAbsent(
+        entityClass,
+        type ->
+            new EntityCache(
+                cacheable.unit().toNanos(cacheable.ttl()),
+                cacheable.maxEntries(),
+                cacheable.cacheMisses()));
+  }
+
+  /**
+   * Returns the cache of an entity class.
+   *
+   * @return the cache, or {@code null} if the entity is not cacheable
+   */
+  @Nullable
+  public EntityCache get(@NotNull Class<?> entityClass) {
+    return caches.get(entityClass);
+  }
+}
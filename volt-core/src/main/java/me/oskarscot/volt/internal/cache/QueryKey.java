@@ -0,0 +1,21 @@
+package me.oskarscot.volt.internal.cache;
+
+import java.util.List;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Identifies a cached query result by its generated SQL and bind values.
+ *
+ * <p>Keying on the SQL rather than the {@link me.oskarscot.volt.query.Query} makes queries
+ * built in different ways share an entry as long as they render the same statement.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+public record QueryKey(@NotNull String sql, @NotNull List<Object> values) {
+
+  public QueryKey {
+    values = List.copyOf(values);
+  }
+}
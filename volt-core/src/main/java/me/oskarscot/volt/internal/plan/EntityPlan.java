@@ -0,0 +1,340 @@
+package me.oskarscot.volt.internal.plan;
+
+import me.oskarscot.volt.entity.EntityDefinition;
+import me.oskarscot.volt.entity.FieldDefinition;
+import me.oskarscot.volt.entity.PrimaryKey;
+import me.oskarscot.volt.entity.PrimaryKeyType;
+import me.oskarscot.volt.exception.VoltException;
+import me.oskarscot.volt.internal.builders.DeleteBuilder;
+import me.oskarscot.volt.internal.builders.InsertBuilder;
+import me.oskarscot.volt.internal.builders.SelectBuilder;
+import me.oskarscot.volt.internal.builders.UpdateBuilder;
+import me.oskarscot.volt.internal.builders.UpsertBuilder;
+import me.oskarscot.volt.internal.registry.ConverterRegistry;
+import me.oskarscot.volt.query.Projection;
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Precompiled statements and column layouts for a registered entity.
+ *
+ * <p>The statement text for an entity never changes once it is registered, so every
+ * statement is generated exactly once when the plan is compiled and reused by every
+ * transaction afterwards.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ *
+ * @param <T> the entity type
+ */
+@Internal
+public final class EntityPlan<T> {
+
+  /**
+   * The most keys a single IN-list lookup binds; larger lookups are split into chunks.
+   */
+  public static final int MAX_SELECT_BY_IDS = 1024;
+
+  private final EntityDefinition<T> definition;
+
+  private final InsertBuilder<T> insertBuilder;
+  private final UpsertBuilder<T> upsertBuilder;
+  private final UpdateBuilder<T> updateBuilder;
+  private final SelectBuilder selectBuilder;
+  private final DeleteBuilder deleteBuilder;
+
+  private final String insertSql;
+  private final String upsertSql;
+  private final String selectSql;
+  private final String selectByIdSql;
+  private final String selectByIdArraySql;
+  private final String[] selectByIdsSql;
+  private final String existsByIdSql;
+  private final String deleteByIdSql;
+
+  private final Map<String, FieldDefinition> columnsByName;
+  private final Map<String, FieldDefinition> fieldsByName;
+  private final Map<Class<?>, ProjectionPlan> projections = new ConcurrentHashMap<>();
+  private final Class<?> primaryKeyClass;
+  private final boolean generatedNumberKey;
+  private final String primaryKeyArrayType;
+
+  private EntityPlan(EntityDefinition<T> definition, ConverterRegistry converterRegistry) {
+    this.definition = definition;
+
+    this.insertBuilder = new InsertBuilder<>(definition, converterRegistry);
+    this.upsertBuilder = new UpsertBuilder<>(definition, converterRegistry);
+    this.updateBuilder = new UpdateBuilder<>(definition, converterRegistry);
+    this.selectBuilder = new SelectBuilder(definition);
+    this.deleteBuilder = new DeleteBuilder(definition);
+
+    this.insertSql = insertBuilder.toSql();
+    this.upsertSql = upsertBuilder.toSql();
+    this.selectSql = selectBuilder.toSql();
+    this.selectByIdSql = selectBuilder.toSqlById();
+    this.selectByIdArraySql = selectBuilder.toSqlByIdArray();
+    this.selectByIdsSql = new String[Integer.numberOfTrailingZeros(MAX_SELECT_BY_IDS) + 1];
+    for (int i = 0; i < selectByIdsSql.length; i++) {
+      selectByIdsSql[i] = selectBuilder.toSqlByIds(1 << i);
+    }
+    this.existsByIdSql = selectBuilder.toExistsSqlById();
+    this.deleteByIdSql = deleteBuilder.toSql();
+
+    Map<String, FieldDefinition> columnsByName = new HashMap<>();
+    Map<String, FieldDefinition> fieldsByName = new HashMap<>();
+    for (FieldDefinition column : selectBuilder.getColumns()) {
+      columnsByName.put(column.getColumnName(), column);
+      fieldsByName.put(column.getField().getName(), column);
+    }
+    this.columnsByName = Map.copyOf(columnsByName);
+    this.fieldsByName = Map.copyOf(fieldsByName);
+
+    PrimaryKey pk = definition.getPrimaryKey();
+    this.primaryKeyClass = MethodType.methodType(pk.getField().getType()).wrap().returnType();
+    this.generatedNumberKey = pk.isGenerated() && pk.getPrimaryKeyType() == PrimaryKeyType.NUMBER;
+    this.primaryKeyArrayType = arrayElementType(pk.getField().getType());
+  }
+
+  /**
+   * Compiles the plan for an entity definition.
+   *
+   * @param definition the entity definition
+   * @param converterRegistry the converter registry used when binding values
+   * @param <T> the entity type
+   * @return the compiled plan
+   */
+  @NotNull
+  public static <T> EntityPlan<T> compile(
+      @NotNull EntityDefinition<T> definition, @NotNull ConverterRegistry converterRegistry) {
+    return new EntityPlan<>(definition, converterRegistry);
+  }
+
+  public EntityDefinition<T> getDefinition() {
+    return definition;
+  }
+
+  public InsertBuilder<T> getInsertBuilder() {
+    return insertBuilder;
+  }
+
+  public UpsertBuilder<T> getUpsertBuilder() {
+    return upsertBuilder;
+  }
+
+  public UpdateBuilder<T> getUpdateBuilder() {
+    return updateBuilder;
+  }
+
+  public SelectBuilder getSelectBuilder() {
+    return selectBuilder;
+  }
+
+  public DeleteBuilder getDeleteBuilder() {
+    return deleteBuilder;
+  }
+
+  public String getInsertSql() {
+    return insertSql;
+  }
+
+  public String getUpsertSql() {
+    return upsertSql;
+  }
+
+  public String getSelectSql() {
+    return selectSql;
+  }
+
+  public String getSelectByIdSql() {
+    return selectByIdSql;
+  }
+
+  public String getSelectByIdArraySql() {
+    return selectByIdArraySql;
+  }
+
+  /**
+   * Returns the IN-list lookup for {@code slots} keys. Lookups are padded to a power of two by
+   * repeating a key, so that an entity needs only a handful of distinct statements.
+   *
+   * @param slots the number of key placeholders, as returned by {@link #selectByIdsSlots(int)}
+   */
+  public String getSelectByIdsSql(int slots) {
+    return selectByIdsSql[Integer.numberOfTrailingZeros(slots)];
+  }
+
+  /**
+   * Returns the number of placeholders a lookup of {@code ids} keys is padded to.
+   *
+   * @param ids the number of keys, at most {@link #MAX_SELECT_BY_IDS}
+   */
+  public static int selectByIdsSlots(int ids) {
+    return ids <= 1 ? 1 : Integer.highestOneBit(ids - 1) << 1;
+  }
+
+  public String getExistsByIdSql() {
+    return existsByIdSql;
+  }
+
+  public String getDeleteByIdSql() {
+    return deleteByIdSql;
+  }
+
+  /**
+   * Returns the columns read by {@code mapRow}, in SELECT order (primary key first).
+   *
+   * <p>A column's position in this array plus one is its ordinal in the result set,
+   * which lets rows be hydrated without column label lookups.</p>
+   */
+  public FieldDefinition[] getSelectColumns() {
+    return selectBuilder.getColumns();
+  }
+
+  /**
+   * Reads an entity's column values in {@link #getSelectColumns()} order.
+   *
+   * @param entity the entity
+   * @return the column values, primary key first
+   */
+  @NotNull
+  public Object[] getColumnValues(@NotNull T entity) {
+    FieldDefinition[] columns = getSelectColumns();
+    Object[] values = new Object[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      values[i] = columns[i].get(entity);
+    }
+    return values;
+  }
+
+  /**
+   * Creates an entity from column values in {@link #getSelectColumns()} order.
+   *
+   * @param values the column values, primary key first
+   * @return the new entity
+   */
+  @NotNull
+  public T hydrate(@NotNull Object[] values) {
+    T entity = definition.newInstance();
+    FieldDefinition[] columns = getSelectColumns();
+    for (int i = 0; i < columns.length; i++) {
+      columns[i].set(entity, values[i]);
+    }
+    return entity;
+  }
+
+  /**
+   * Looks up a mapped column by name.
+   *
+   * @param columnName the column name
+   * @return the column's field, or {@code null} if the entity has no such column
+   */
+  @Nullable
+  public FieldDefinition getColumn(@NotNull String columnName) {
+    return columnsByName.get(columnName);
+  }
+
+  /**
+   * Resolves a projection against this entity, caching the result by projected type for later
+   * queries, so that projections created per call share one plan.
+   *
+   * <p>Each projection property is matched to a field by its Java name first and then by
+   * its column name.</p>
+   *
+   * @param projection the projection
+   * @return the resolved projection
+   * @throws VoltException if a property does not match any mapped field
+   */
+  @NotNull
+  public ProjectionPlan getProjection(@NotNull Projection<?> projection) {
+    return projections.computeIfAbsent(projection.getType(), type -> resolveProjection(projection));
+  }
+
+  /**
+   * Returns the primary key's type, boxed if the field is primitive.
+   */
+  public Class<?> getPrimaryKeyClass() {
+    return primaryKeyClass;
+  }
+
+  /**
+   * Returns {@code true} if the value can be looked up as a primary key as is. Keys are
+   * compared by {@code equals}, so an {@code Integer} never matches a {@code Long} key.
+   *
+   * @param value the candidate key
+   */
+  public boolean isPrimaryKeyValue(@Nullable Object value) {
+    return primaryKeyClass.isInstance(value);
+  }
+
+  /**
+   * Returns {@code true} if the primary key is a database-generated number.
+   */
+  public boolean hasGeneratedNumberKey() {
+    return generatedNumberKey;
+  }
+
+  /**
+   * Returns the SQL element type used to bind primary keys as a single array parameter.
+   *
+   * @return the element type name, or {@code null} if the key type cannot be bound as an array
+   */
+  @Nullable
+  public String getPrimaryKeyArrayType() {
+    return primaryKeyArrayType;
+  }
+
+  /**
+   * Returns {@code true} if an entity with the given primary key value must be inserted
+   * (letting the database generate its key) rather than upserted.
+   *
+   * @param pkValue the current primary key value
+   */
+  public boolean requiresInsert(@Nullable Object pkValue) {
+    return pkValue == null && generatedNumberKey;
+  }
+
+  private static String arrayElementType(Class<?> type) {
+    if (type == Long.class || type == long.class) {
+      return "bigint";
+    }
+    if (type == Integer.class || type == int.class) {
+      return "integer";
+    }
+    if (type == Short.class || type == short.class) {
+      return "smallint";
+    }
+    if (type == UUID.class) {
+      return "uuid";
+    }
+    if (type == String.class) {
+      return "varchar";
+    }
+    return null;
+  }
+
+  private ProjectionPlan resolveProjection(Projection<?> projection) {
+    List<String> properties = projection.getProperties();
+    FieldDefinition[] columns = new FieldDefinition[properties.size()];
+    for (int i = 0; i < columns.length; i++) {
+      String property = properties.get(i);
+      FieldDefinition column = fieldsByName.get(property);
+      if (column == null) {
+        column = columnsByName.get(property);
+      }
+      if (column == null) {
+        throw new VoltException("Projection " + projection.getType().getName()
+            + " property '" + property + "' does not match any field of "
+            + definition.getClazz().getName());
+      }
+      columns[i] = column;
+    }
+    return new ProjectionPlan(columns, selectBuilder.toProjectedSql(columns));
+  }
+}
@@ -0,0 +1,16 @@
+package me.oskarscot.volt.internal.plan;
+
+import me.oskarscot.volt.entity.FieldDefinition;
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+/**
+ * A projection resolved against an entity: the columns it reads and the base SELECT for them.
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ *
+ * @param columns the projected columns, in projection property order
+ * @param selectSql the SELECT of those columns, without a WHERE clause
+ */
+@Internal
+public record ProjectionPlan(FieldDefinition[] columns, String selectSql) {
+}
@@ -0,0 +1,42 @@
+package me.oskarscot.volt.internal.registry;
+
+import me.oskarscot.volt.converter.BidirectionalTypeConverter;
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+/**
+ * A field's converter, resolved once so that values can be converted without a registry
+ * lookup.
+ *
+ * <p>Bindings carry the {@link ConverterRegistry} version they were resolved at, and are
+ * resolved again once a converter registration has made them stale.</p>
+ *
+ * <p><b>Internal class — not part of the public API.</b></p>
+ */
+@Internal
+public final class BoundConverter {
+
+  /** How values are passed between the field and the converter. */
+  enum Kind {
+    /** Boxed, through {@link BidirectionalTypeConverter}. */
+    OBJECT,
+    LONG,
+    INT,
+    DOUBLE,
+    BOOLEAN
+  }
+
+  final int version;
+  /** The converter, or {@code null} to leave values to the driver. */
+  final BidirectionalTypeConverter<Object> converter;
+  final Kind kind;
+  /** The same converter, typed for the primitive {@link Kind}s. */
+  final BidirectionalTypeConverter<?> primitive;
+
+  @SuppressWarnings("unchecked")
+  BoundConverter(int version, BidirectionalTypeConverter<?> converter, Kind kind) {
+    this.version = version;
+    this.converter = (BidirectionalTypeConverter<Object>) converter;
+    this.kind = kind;
+    this.primitive = converter;
+  }
+}
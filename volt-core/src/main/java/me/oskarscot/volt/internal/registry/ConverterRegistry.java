@@ -1,6 +1,14 @@
 package me.oskarscot.volt.internal.registry;
 
 import me.oskarscot.volt.converter.BidirectionalTypeConverter;
+import me.oskarscot.volt.converter.BooleanColumnConverter;
+import me.oskarscot.volt.converter.DoubleColumnConverter;
+import me.oskarscot.volt.converter.IntColumnConverter;
+import me.oskarscot.volt.converter.LongColumnConverter;
+import me.oskarscot.volt.entity.FieldDefinition;
+import me.oskarscot.volt.exception.VoltException;
+import me.oskarscot.volt.internal.registry.BoundConverter.Kind;
+import me.oskarscot.volt.metrics.VoltListener;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -14,12 +22,31 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Registry for type converters.
  *
+ * <p>Entity fields are bound to their converter once, so that rows are converted without a
+ * lookup per value, and {@code long}, {@code int}, {@code double} and {@code boolean} fields
+ * with a primitive converter such as {@link LongColumnConverter} are converted without
+ * boxing. Registering a converter invalidates every binding.</p>
+ *
  * <p><b>Internal class — not part of the public API.</b></p>
  */
 @Internal
 public final class ConverterRegistry {
 
   private final Map<Class<?>, BidirectionalTypeConverter<?>> converters = new ConcurrentHashMap<>();
+  private final VoltListener listener;
+  private volatile int version;
+
+  public ConverterRegistry() {
+    this(VoltListener.NOOP);
+  }
+
+  /**
+   * Creates a registry that reports values left to the driver's {@code setObject} and
+   * {@code getObject} to the listener.
+   */
+  public ConverterRegistry(@NotNull VoltListener listener) {
+    this.listener = listener;
+  }
 
   /**
    * Registers a converter for a type.
@@ -28,8 +55,38 @@ public final class ConverterRegistry {
    * @param converter the converter implementation
    * @param <T> the type being converted
    */
-  public <T> void register(@NotNull Class<T> type, @NotNull BidirectionalTypeConverter<T> converter) {
+  public synchronized <T> void register(
+      @NotNull Class<T> type, @NotNull BidirectionalTypeConverter<T> converter) {
     converters.put(type, converter);
+    version++;
+  }
+
+  /**
+   * Resolves a field's converter and binds the field to it.
+   *
+   * @param field the field
+   * @return the binding
+   */
+  @NotNull
+  public BoundConverter bind(@NotNull FieldDefinition field) {
+    int current = version;
+    Class<?> type = field.getField().getType();
+    BidirectionalTypeConverter<?> converter = converters.get(type);
+
+    Kind kind = Kind.OBJECT;
+    if (type == long.class && converter instanceof LongColumnConverter) {
+      kind = Kind.LONG;
+    } else if (type == int.class && converter instanceof IntColumnConverter) {
+      kind = Kind.INT;
+    } else if (type == double.class && converter instanceof DoubleColumnConverter) {
+      kind = Kind.DOUBLE;
+    } else if (type == boolean.class && converter instanceof BooleanColumnConverter) {
+      kind = Kind.BOOLEAN;
+    }
+
+    BoundConverter bound = new BoundConverter(current, converter, kind);
+    field.setConverter(bound);
+    return bound;
   }
 
   /**
@@ -71,6 +128,7 @@ public final class ConverterRegistry {
     if (converter != null) {
       converter.write(stmt, index, value);
     } else {
+      listener.onConverterFallback(type);
       stmt.setObject(index, value);
     }
   }
@@ -93,7 +151,173 @@ public final class ConverterRegistry {
     if (converter != null) {
       return converter.read(rs, column);
     } else {
+      listener.onConverterFallback(type);
       return rs.getObject(column);
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Reads a value from a result set by column position using the appropriate converter.
+   *
+   * <p>Falls back to {@link ResultSet#getObject(int)} if no converter is registered.</p>
+   *
+   * @param rs the result set
+   * @param index the column index (1-based)
+   * @param type the expected Java type
+   * @return the value, or {@code null} if the column was NULL
+   * @throws SQLException if a database error occurs
+   */
+  @Nullable
+  public Object read(@NotNull ResultSet rs, int index, @NotNull Class<?> type) throws SQLException {
+    BidirectionalTypeConverter<?> converter = converters.get(type);
+    if (converter != null) {
+      return converter.read(rs, index);
+    } else {
+      listener.onConverterFallback(type);
+      return rs.getObject(index);
+    }
+  }
+
+  /**
+   * Writes a value to a prepared statement using the field's bound converter.
+   *
+   * @param stmt the prepared statement
+   * @param index the parameter index (1-based)
+   * @param value the value to write
+   * @param field the field the value belongs to
+   * @throws SQLException if a database error occurs
+   */
+  public void write(
+      @NotNull PreparedStatement stmt, int index, @Nullable Object value, @NotNull FieldDefinition field)
+      throws SQLException {
+    BoundConverter bound = bound(field);
+    if (bound.converter != null) {
+      bound.converter.write(stmt, index, value);
+    } else {
+      listener.onConverterFallback(field.getField().getType());
+      stmt.setObject(index, value);
+    }
+  }
+
+  /**
+   * Reads a field from an entity and writes it to a prepared statement using the field's
+   * bound converter, without boxing primitive values.
+   *
+   * @param stmt the prepared statement
+   * @param index the parameter index (1-based)
+   * @param entity the entity to read the field from
+   * @param field the field
+   * @throws SQLException if a database error occurs
+   */
+  public void writeField(
+      @NotNull PreparedStatement stmt, int index, @NotNull Object entity, @NotNull FieldDefinition field)
+      throws SQLException {
+    BoundConverter bound = bound(field);
+    switch (bound.kind) {
+      case LONG -> ((LongColumnConverter) bound.primitive).setLong(stmt, index, field.getLong(entity));
+      case INT -> ((IntColumnConverter) bound.primitive).setInt(stmt, index, field.getInt(entity));
+      case DOUBLE ->
+          ((DoubleColumnConverter) bound.primitive).setDouble(stmt, index, field.getDouble(entity));
+      case BOOLEAN ->
+          ((BooleanColumnConverter) bound.primitive).setBoolean(stmt, index, field.getBoolean(entity));
+      case OBJECT -> write(stmt, index, field.get(entity), field);
+    }
+  }
+
+  /**
+   * Reads a value from a result set by column position using the field's bound converter.
+   *
+   * @param rs the result set
+   * @param index the column index (1-based)
+   * @param field the field the column is mapped to
+   * @return the value, or {@code null} if the column was NULL
+   * @throws SQLException if a database error occurs
+   */
+  @Nullable
+  public Object read(@NotNull ResultSet rs, int index, @NotNull FieldDefinition field)
+      throws SQLException {
+    BoundConverter bound = bound(field);
+    if (bound.converter != null) {
+      return bound.converter.read(rs, index);
+    } else {
+      listener.onConverterFallback(field.getField().getType());
+      return rs.getObject(index);
+    }
+  }
+
+  /**
+   * Reads a column by position and writes it to an entity's field using the field's bound
+   * converter, without boxing primitive values.
+   *
+   * @param rs the result set
+   * @param index the column index (1-based)
+   * @param entity the entity to write the field on
+   * @param field the field the column is mapped to
+   * @throws SQLException if a database error occurs
+   * @throws VoltException if the column is NULL and the field is primitive
+   */
+  public void readField(
+      @NotNull ResultSet rs, int index, @NotNull Object entity, @NotNull FieldDefinition field)
+      throws SQLException {
+    BoundConverter bound = bound(field);
+    switch (bound.kind) {
+      case LONG -> {
+        LongColumnConverter converter = (LongColumnConverter) bound.primitive;
+        long value = converter.getLong(rs, index);
+        checkNotNull(converter.wasNull(rs), field);
+        field.setLong(entity, value);
+      }
+      case INT -> {
+        IntColumnConverter converter = (IntColumnConverter) bound.primitive;
+        int value = converter.getInt(rs, index);
+        checkNotNull(converter.wasNull(rs), field);
+        field.setInt(entity, value);
+      }
+      case DOUBLE -> {
+        DoubleColumnConverter converter = (DoubleColumnConverter) bound.primitive;
+        double value = converter.getDouble(rs, index);
+        checkNotNull(converter.wasNull(rs), field);
+        field.setDouble(entity, value);
+      }
+      case BOOLEAN -> {
+        BooleanColumnConverter converter = (BooleanColumnConverter) bound.primitive;
+        boolean value = converter.getBoolean(rs, index);
+        checkNotNull(converter.wasNull(rs), field);
+        field.setBoolean(entity, value);
+      }
+      case OBJECT -> field.set(entity, read(rs, index, field));
+    }
+  }
+
+  /**
+   * Encodes a value in the database's text representation using the appropriate converter.
+   *
+   * <p>Falls back to {@link String#valueOf(Object)} if no converter is registered.</p>
+   *
+   * @param value the value to encode (never null)
+   * @param type the Java type of the value
+   * @return the text representation
+   */
+  @NotNull
+  @SuppressWarnings("unchecked")
+  public String writeText(@NotNull Object value, @NotNull Class<?> type) {
+    BidirectionalTypeConverter<Object> converter = (BidirectionalTypeConverter<Object>) converters.get(type);
+    if (converter != null) {
+      return converter.writeText(value);
+    } else {
+      return String.valueOf(value);
+    }
+  }
+
+  private BoundConverter bound(FieldDefinition field) {
+    BoundConverter bound = field.getConverter();
+    return bound != null && bound.version == version ? bound : bind(field);
+  }
+
+  private static void checkNotNull(boolean wasNull, FieldDefinition field) {
+    if (wasNull) {
+      throw new VoltException("Column " + field.getColumnName() + " is NULL but field "
+          + field.getField().getName() + " is primitive");
+    }
+  }
+}
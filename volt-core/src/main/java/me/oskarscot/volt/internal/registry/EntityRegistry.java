@@ -8,11 +8,15 @@ import org.slf4j.LoggerFactory;
 import me.oskarscot.volt.annotation.Entity;
 import me.oskarscot.volt.entity.EntityDefinition;
 import me.oskarscot.volt.entity.EntityDefinitionFactory;
+import me.oskarscot.volt.entity.EntityMapper;
 import me.oskarscot.volt.entity.FieldDefinition;
+import me.oskarscot.volt.internal.plan.EntityPlan;
 import me.oskarscot.volt.util.ClassUtil;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -22,7 +26,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class EntityRegistry {
 
   private final Logger logger = LoggerFactory.getLogger(getClass());
-  private final ConcurrentHashMap<Class<?>, EntityDefinition<?>> entityMap = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Class<?>, EntityPlan<?>> entityMap = new ConcurrentHashMap<>();
   private final ConverterRegistry converterRegistry;
 
   @Internal
@@ -31,7 +35,11 @@ public final class EntityRegistry {
   }
 
   /**
-   * Registers an entity class.
+   * Registers an entity class and compiles its {@link EntityPlan}.
+   *
+   * <p>The entity is mapped by its generated {@link EntityMapper} if {@code volt-processor}
+   * produced one, and reflectively otherwise. Its fields are bound to their converters,
+   * which are resolved again if a converter is registered later.</p>
    *
    * @param entityClass the entity class to register
    * @throws VoltException if the class is not a valid entity
@@ -46,11 +54,19 @@ public final class EntityRegistry {
       return;
     }
 
-    EntityDefinition<T> definition = EntityDefinitionFactory.fromClass(entityClass);
+    EntityMapper<T> mapper = findMapper(entityClass);
+    EntityDefinition<T> definition = mapper != null
+        ? EntityDefinitionFactory.fromMapper(mapper)
+        : EntityDefinitionFactory.fromClass(entityClass);
     warnMissingConverters(definition);
-    entityMap.put(entityClass, definition);
+    EntityPlan<T> plan = EntityPlan.compile(definition, converterRegistry);
+    for (FieldDefinition column : plan.getSelectColumns()) {
+      converterRegistry.bind(column);
+    }
+    entityMap.put(entityClass, plan);
 
-    logger.debug("Registered entity: {}", entityClass.getName());
+    logger.debug("Registered {} entity: {}",
+        mapper != null ? "generated" : "reflective", entityClass.getName());
   }
 
   /**
@@ -61,8 +77,22 @@ public final class EntityRegistry {
    */
   @Nullable
   public EntityDefinition<?> get(@NotNull Class<?> entityClass) {
+    EntityPlan<?> plan = getPlan(entityClass);
+    return plan != null ? plan.getDefinition() : null;
+  }
+
+  /**
+   * Gets the compiled plan for an entity class.
+   *
+   * @param entityClass the entity class
+   * @param <T> the entity type
+   * @return the entity plan, or {@code null} if not registered
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <T> EntityPlan<T> getPlan(@NotNull Class<T> entityClass) {
     Objects.requireNonNull(entityClass, "Entity class cannot be null");
-    return entityMap.get(entityClass);
+    return (EntityPlan<T>) entityMap.get(entityClass);
   }
 
   /**
@@ -76,6 +106,38 @@ public final class EntityRegistry {
     return entityMap.containsKey(entityClass);
   }
 
+  /**
+   * Finds the entity's generated mapper among the {@link EntityMapper} services visible to its
+   * class loader. Providers are matched by class name, so only the entity's own mapper is
+   * instantiated.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private <T> EntityMapper<T> findMapper(@NotNull Class<T> entityClass) {
+    String mapperName = mapperName(entityClass);
+    try {
+      return ServiceLoader.load(EntityMapper.class, entityClass.getClassLoader()).stream()
+          .filter(provider -> provider.type().getName().equals(mapperName))
+          .findFirst()
+          .map(provider -> (EntityMapper<T>) provider.get())
+          .filter(mapper -> mapper.getEntityClass() == entityClass)
+          .orElse(null);
+    } catch (ServiceConfigurationError e) {
+      logger.warn("Cannot load generated mapper for {}, mapping it reflectively: {}",
+          entityClass.getName(), e.getMessage());
+      return null;
+    }
+  }
+
+  private static String mapperName(Class<?> entityClass) {
+    String packageName = entityClass.getPackageName();
+    String simpleName = packageName.isEmpty()
+        ? entityClass.getName()
+        : entityClass.getName().substring(packageName.length() + 1);
+    String name = simpleName.replace('$', '_') + EntityMapper.SUFFIX;
+    return packageName.isEmpty() ? name : packageName + "." + name;
+  }
+
   private <T> void validateEntityClass(@NotNull Class<T> entityClass) {
     if (entityClass.getDeclaredAnnotation(Entity.class) == null) {
       throw new VoltException("Entity " + entityClass.getName() + " has no @Entity annotation");
@@ -0,0 +1,44 @@
+package me.oskarscot.volt.metrics;
+
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Forwards every event to several listeners in order.
+ */
+final class CompositeListener implements VoltListener {
+
+  private final VoltListener[] listeners;
+
+  CompositeListener(List<VoltListener> listeners) {
+    this.listeners = listeners.toArray(new VoltListener[0]);
+  }
+
+  @Override
+  public void onOperation(@NotNull OperationEvent event) {
+    for (VoltListener listener : listeners) {
+      listener.onOperation(event);
+    }
+  }
+
+  @Override
+  public void onAcquire(@NotNull Outcome outcome, long nanos) {
+    for (VoltListener listener : listeners) {
+      listener.onAcquire(outcome, nanos);
+    }
+  }
+
+  @Override
+  public void onTransactionEnd(@NotNull Phase phase, @NotNull Outcome outcome, long nanos) {
+    for (VoltListener listener : listeners) {
+      listener.onTransactionEnd(phase, outcome, nanos);
+    }
+  }
+
+  @Override
+  public void onConverterFallback(@NotNull Class<?> type) {
+    for (VoltListener listener : listeners) {
+      listener.onConverterFallback(type);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package me.oskarscot.volt.metrics;
+
+import java.time.Duration;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A point-in-time copy of a latency histogram.
+ *
+ * <p>Percentiles are reported as the upper bound of the bucket they fall into, capped at the
+ * largest recorded value, so they overstate the true value by at most 1/16.</p>
+ */
+public final class LatencySnapshot {
+
+  /** A snapshot with no recorded values. */
+  public static final LatencySnapshot EMPTY = new LatencySnapshot(new long[0], 0, 0);
+
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  LatencySnapshot(long[] counts, long sum, long max) {
+    this.counts = counts;
+    long total = 0;
+    for (long c : counts) {
+      total += c;
+    }
+    this.count = total;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  /**
+   * Returns the number of recorded values.
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Returns the mean of the recorded values, or zero if there are none.
+   */
+  @NotNull
+  public Duration mean() {
+    return count == 0 ? Duration.ZERO : Duration.ofNanos(sum / count);
+  }
+
+  /**
+   * Returns the largest recorded value, or zero if there are none.
+   */
+  @NotNull
+  public Duration max() {
+    return Duration.ofNanos(max);
+  }
+
+  /**
+   * Returns the value below which the given fraction of recorded values fall.
+   *
+   * <pre>{@code
+   * Duration p99 = snapshot.percentile(0.99);
+   * }</pre>
+   *
+   * @param quantile the fraction, between 0 and 1
+   * @return the percentile, or zero if there are no values
+   * @throws IllegalArgumentException if the quantile is outside [0, 1]
+   */
+  @NotNull
+  public Duration percentile(double quantile) {
+    if (quantile < 0 || quantile > 1) {
+      throw new IllegalArgumentException("Quantile must be between 0 and 1");
+    }
+    if (count == 0) {
+      return Duration.ZERO;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(quantile * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Duration.ofNanos(Math.min(LatencyHistogram.highestValue(i), max));
+      }
+    }
+    return Duration.ofNanos(max);
+  }
+
+  @Override
+  public String toString() {
+    return "LatencySnapshot[count=" + count
+        + ", mean=" + mean()
+        + ", p50=" + percentile(0.5)
+        + ", p99=" + percentile(0.99)
+        + ", max=" + max() + "]";
+  }
+}
@@ -0,0 +1,38 @@
+package me.oskarscot.volt.metrics;
+
+/**
+ * The kinds of operation reported to a {@link VoltListener}, one per group of
+ * {@link me.oskarscot.volt.Transaction} methods.
+ */
+public enum Operation {
+  FIND_BY_ID(false),
+  FIND_ALL_BY_ID(false),
+  FIND_FIRST(false),
+  FIND_ONE(false),
+  FIND_ALL(false),
+  FIND_PAGE(false),
+  STREAM(false),
+  COUNT(false),
+  EXISTS(false),
+  SAVE(true),
+  SAVE_ALL(true),
+  DELETE(true),
+  DELETE_ALL(true),
+  DELETE_BY(true),
+  UPDATE_BY(true),
+  BULK_LOAD(true);
+
+  private final boolean write;
+
+  Operation(boolean write) {
+    this.write = write;
+  }
+
+  /**
+   * Returns whether the operation writes rows, in which case its
+   * {@link OperationEvent#rows()} counts rows written rather than read.
+   */
+  public boolean isWrite() {
+    return write;
+  }
+}
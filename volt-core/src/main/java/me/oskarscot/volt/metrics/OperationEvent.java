@@ -0,0 +1,38 @@
+package me.oskarscot.volt.metrics;
+
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reports one completed {@link me.oskarscot.volt.Transaction} operation.
+ *
+ * <p>The phase times add up to at most the total; the remainder is spent in Volt itself,
+ * for example binding parameters or serving rows from the cache. Streams report when the
+ * stream is opened, so their rows and hydration time are not included.</p>
+ *
+ * @param entity the entity class, or {@code null} for operations that can span entity types,
+ *     such as {@link me.oskarscot.volt.Transaction#saveAll(Iterable)}
+ * @param operation the kind of operation
+ * @param outcome whether the operation succeeded
+ * @param totalNanos the time from call to return
+ * @param prepareNanos the time spent in {@link Phase#PREPARE}
+ * @param executeNanos the time spent in {@link Phase#EXECUTE}
+ * @param hydrateNanos the time spent in {@link Phase#HYDRATE}
+ * @param rows the rows read, or for {@linkplain Operation#isWrite() writes} the rows written
+ * @param sql the SQL of the statement that took longest to execute, or {@code null} if the
+ *     operation executed none or only batches
+ * @param bindValues that statement's bind values in parameter order, or {@code null} unless
+ *     a {@link SlowQueryLog} asked for them to be captured
+ */
+public record OperationEvent(
+    @Nullable Class<?> entity,
+    @NotNull Operation operation,
+    @NotNull Outcome outcome,
+    long totalNanos,
+    long prepareNanos,
+    long executeNanos,
+    long hydrateNanos,
+    long rows,
+    @Nullable String sql,
+    @Nullable List<Object> bindValues) {}
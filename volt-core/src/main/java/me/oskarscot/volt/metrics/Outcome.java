@@ -0,0 +1,9 @@
+package me.oskarscot.volt.metrics;
+
+/**
+ * Whether an instrumented operation succeeded.
+ */
+public enum Outcome {
+  SUCCESS,
+  FAILURE
+}
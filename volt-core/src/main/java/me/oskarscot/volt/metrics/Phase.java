@@ -0,0 +1,19 @@
+package me.oskarscot.volt.metrics;
+
+/**
+ * The timed phases of database work.
+ */
+public enum Phase {
+  /** Borrowing a connection to begin a transaction. */
+  ACQUIRE,
+  /** Preparing statements, which is nearly free when the statement cache hits. */
+  PREPARE,
+  /** Executing statements, up to the first batch of rows of a query. */
+  EXECUTE,
+  /** Reading rows and building entities, including fetching further batches of rows. */
+  HYDRATE,
+  /** Committing a transaction. */
+  COMMIT,
+  /** Rolling back a transaction. */
+  ROLLBACK
+}
@@ -0,0 +1,209 @@
+package me.oskarscot.volt.metrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs operations that take longer than a threshold, with the statement that was slowest to
+ * execute, and optionally a random sample of the others.
+ *
+ * <p>Each entry names the entity and operation, the total time split into execute and
+ * hydrate, the row count, the SQL and, depending on {@link BindValues}, the bound values.
+ * Slow operations are logged at WARN and sampled ones at INFO to the {@code Volt.SlowQuery}
+ * logger. Nothing is formatted for operations that are not logged.</p>
+ *
+ * <pre>{@code
+ * SlowQueryLog slowLog = SlowQueryLog.builder()
+ *     .threshold(Duration.ofMillis(200))
+ *     .sampleRate(0.001)
+ *     .bindValues(SlowQueryLog.BindValues.REDACTED)
+ *     .build();
+ *
+ * VoltSettings settings = VoltSettings.builder().slowQueryLog(slowLog).build();
+ * }</pre>
+ *
+ * @see me.oskarscot.volt.VoltSettings.Builder#slowQueryLog(SlowQueryLog)
+ */
+public final class SlowQueryLog implements VoltListener {
+
+  /** The default duration above which an operation is logged. */
+  public static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(500);
+
+  private static final int MAX_VALUE_LENGTH = 64;
+
+  /**
+   * How bind values appear in log entries.
+   */
+  public enum BindValues {
+    /** Bind values are neither captured nor logged. */
+    OMIT,
+    /** Only the type of each bind value is logged, so no data reaches the log. */
+    REDACTED,
+    /** Bind values are logged, truncated to 64 characters each. */
+    INCLUDE
+  }
+
+  private final Logger logger = LoggerFactory.getLogger("Volt.SlowQuery");
+
+  private final long thresholdNanos;
+  private final double sampleRate;
+  private final BindValues bindValues;
+
+  private SlowQueryLog(Builder builder) {
+    this.thresholdNanos = builder.threshold.toNanos();
+    this.sampleRate = builder.sampleRate;
+    this.bindValues = builder.bindValues;
+  }
+
+  /**
+   * Creates a new slow query log builder.
+   *
+   * @return a builder initialized with the default values
+   */
+  @NotNull
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns whether operations must capture their bind values for this log.
+   *
+   * @return {@code true} unless bind values are {@link BindValues#OMIT omitted}
+   */
+  public boolean capturesBindValues() {
+    return bindValues != BindValues.OMIT;
+  }
+
+  @Override
+  public void onOperation(@NotNull OperationEvent event) {
+    if (event.totalNanos() >= thresholdNanos) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Slow {}", describe(event));
+      }
+    } else if (sampleRate > 0
+        && ThreadLocalRandom.current().nextDouble() < sampleRate
+        && logger.isInfoEnabled()) {
+      logger.info("Sampled {}", describe(event));
+    }
+  }
+
+  private String describe(OperationEvent event) {
+    StringBuilder entry = new StringBuilder()
+        .append(event.operation())
+        .append(" on ")
+        .append(event.entity() == null ? "*" : event.entity().getSimpleName());
+    if (event.outcome() == Outcome.FAILURE) {
+      entry.append(" (failed)");
+    }
+    entry.append(" took ").append(millis(event.totalNanos()))
+        .append(" (execute ").append(millis(event.executeNanos()))
+        .append(", hydrate ").append(millis(event.hydrateNanos()))
+        .append(", ").append(event.rows()).append(" rows)");
+
+    if (event.sql() != null) {
+      entry.append(": ").append(event.sql());
+    }
+    if (event.bindValues() != null && bindValues != BindValues.OMIT) {
+      appendBindValues(entry, event.bindValues());
+    }
+    return entry.toString();
+  }
+
+  private void appendBindValues(StringBuilder entry, List<Object> values) {
+    entry.append(" [");
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        entry.append(", ");
+      }
+      Object value = values.get(i);
+      if (value == null) {
+        entry.append("null");
+      } else if (bindValues == BindValues.REDACTED) {
+        entry.append('<').append(value.getClass().getSimpleName()).append('>');
+      } else {
+        String text = String.valueOf(value);
+        entry.append(text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "..." : text);
+      }
+    }
+    entry.append(']');
+  }
+
+  private static String millis(long nanos) {
+    return String.format("%.1f ms", nanos / 1_000_000.0);
+  }
+
+  /**
+   * Builder for {@link SlowQueryLog}.
+   */
+  public static final class Builder {
+
+    private Duration threshold = DEFAULT_THRESHOLD;
+    private double sampleRate;
+    private BindValues bindValues = BindValues.OMIT;
+
+    private Builder() {}
+
+    /**
+     * Sets the duration above which an operation is logged.
+     *
+     * @param threshold the threshold, must not be negative
+     * @return this builder
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    @NotNull
+    public Builder threshold(@NotNull Duration threshold) {
+      if (threshold.isNegative()) {
+        throw new IllegalArgumentException("Threshold cannot be negative");
+      }
+      this.threshold = threshold;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of operations below the threshold that are logged anyway, to show
+     * what normal traffic looks like.
+     *
+     * @param sampleRate the fraction between 0 and 1, {@code 0} by default
+     * @return this builder
+     * @throws IllegalArgumentException if the rate is outside [0, 1]
+     */
+    @NotNull
+    public Builder sampleRate(double sampleRate) {
+      if (sampleRate < 0 || sampleRate > 1) {
+        throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+      }
+      this.sampleRate = sampleRate;
+      return this;
+    }
+
+    /**
+     * Sets how bind values appear in log entries.
+     *
+     * <p>Capturing values costs a little on every bound parameter while the log is enabled,
+     * so they are {@link BindValues#OMIT omitted} by default.</p>
+     *
+     * @param bindValues the bind value mode
+     * @return this builder
+     */
+    @NotNull
+    public Builder bindValues(@NotNull BindValues bindValues) {
+      this.bindValues = Objects.requireNonNull(bindValues, "Bind values mode cannot be null");
+      return this;
+    }
+
+    /**
+     * Builds the slow query log.
+     *
+     * @return the slow query log
+     */
+    @NotNull
+    public SlowQueryLog build() {
+      return new SlowQueryLog(this);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package me.oskarscot.volt.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives timing and count events from a {@link me.oskarscot.volt.Volt} instance.
+ *
+ * <p>Every method does nothing by default, so implementations only override what they need.
+ * Methods are called synchronously on the thread doing the work, so they must be fast and
+ * thread-safe; anything expensive should be handed off. Without a listener configured, Volt
+ * skips instrumentation entirely.</p>
+ *
+ * <pre>{@code
+ * VoltMetrics metrics = new VoltMetrics();
+ * VoltSettings settings = VoltSettings.builder().listener(metrics).build();
+ * }</pre>
+ *
+ * @see VoltMetrics
+ * @see me.oskarscot.volt.VoltSettings.Builder#listener(VoltListener)
+ */
+public interface VoltListener {
+
+  /** A listener that ignores every event. */
+  VoltListener NOOP = new VoltListener() {};
+
+  /**
+   * Called when a transaction operation returns.
+   *
+   * @param event the operation's timings and row count
+   */
+  default void onOperation(@NotNull OperationEvent event) {}
+
+  /**
+   * Called after trying to borrow a connection for a transaction.
+   *
+   * @param outcome whether a connection was obtained
+   * @param nanos the time spent waiting
+   */
+  default void onAcquire(@NotNull Outcome outcome, long nanos) {}
+
+  /**
+   * Called after a transaction was committed or rolled back.
+   *
+   * @param phase {@link Phase#COMMIT} or {@link Phase#ROLLBACK}
+   * @param outcome whether the commit or rollback succeeded
+   * @param nanos the time spent
+   */
+  default void onTransactionEnd(@NotNull Phase phase, @NotNull Outcome outcome, long nanos) {}
+
+  /**
+   * Called when a value of a type without a registered converter is bound with
+   * {@link java.sql.PreparedStatement#setObject(int, Object)} or read with
+   * {@link java.sql.ResultSet#getObject(int)}, leaving the conversion to the driver.
+   *
+   * @param type the Java type without a converter
+   */
+  default void onConverterFallback(@NotNull Class<?> type) {}
+
+  /**
+   * Combines listeners into one that forwards every event to each of them in order.
+   *
+   * @param listeners the listeners; {@link #NOOP} entries are dropped
+   * @return the combined listener, {@link #NOOP} if none remain, or the only one left
+   */
+  @NotNull
+  static VoltListener composite(@NotNull VoltListener... listeners) {
+    List<VoltListener> active = new ArrayList<>();
+    for (VoltListener listener : listeners) {
+      if (listener != NOOP) {
+        active.add(listener);
+      }
+    }
+    return switch (active.size()) {
+      case 0 -> NOOP;
+      case 1 -> active.getFirst();
+      default -> new CompositeListener(active);
+    };
+  }
+}
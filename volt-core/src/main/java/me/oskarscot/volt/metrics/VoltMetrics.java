@@ -0,0 +1,187 @@
+package me.oskarscot.volt.metrics;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link VoltListener} that keeps latency histograms and counters in memory.
+ *
+ * <p>Latencies are tracked per entity and operation, in total and for each of the
+ * {@link Phase#PREPARE}, {@link Phase#EXECUTE} and {@link Phase#HYDRATE} phases, as well as
+ * per phase across all operations. Recording never locks, so a single instance can be shared
+ * by any number of threads and read at any time.</p>
+ *
+ * <pre>{@code
+ * VoltMetrics metrics = new VoltMetrics();
+ * Volt volt = VoltFactory.createVolt(config, VoltSettings.builder().listener(metrics).build());
+ * ...
+ * Duration p99 = metrics.latency(User.class, Operation.FIND_BY_ID).percentile(0.99);
+ * }</pre>
+ */
+public final class VoltMetrics implements VoltListener {
+
+  private final Map<Key, OperationMetrics> operations = new ConcurrentHashMap<>();
+  private final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+  private final Map<Class<?>, LongAdder> converterFallbacks = new ConcurrentHashMap<>();
+  private final LongAdder rowsRead = new LongAdder();
+  private final LongAdder rowsWritten = new LongAdder();
+
+  public VoltMetrics() {
+    for (Phase phase : Phase.values()) {
+      phases.put(phase, new LatencyHistogram());
+    }
+  }
+
+  @Override
+  public void onOperation(@NotNull OperationEvent event) {
+    OperationMetrics metrics =
+        operations.computeIfAbsent(
+            new Key(event.entity(), event.operation()), k -> new OperationMetrics());
+    metrics.total.record(event.totalNanos());
+    metrics.rows.add(event.rows());
+    if (event.outcome() == Outcome.FAILURE) {
+      metrics.failures.increment();
+    }
+
+    recordPhase(metrics.prepare, Phase.PREPARE, event.prepareNanos());
+    recordPhase(metrics.execute, Phase.EXECUTE, event.executeNanos());
+    recordPhase(metrics.hydrate, Phase.HYDRATE, event.hydrateNanos());
+
+    (event.operation().isWrite() ? rowsWritten : rowsRead).add(event.rows());
+  }
+
+  @Override
+  public void onAcquire(@NotNull Outcome outcome, long nanos) {
+    phases.get(Phase.ACQUIRE).record(nanos);
+  }
+
+  @Override
+  public void onTransactionEnd(@NotNull Phase phase, @NotNull Outcome outcome, long nanos) {
+    phases.get(phase).record(nanos);
+  }
+
+  @Override
+  public void onConverterFallback(@NotNull Class<?> type) {
+    converterFallbacks.computeIfAbsent(type, t -> new LongAdder()).increment();
+  }
+
+  /**
+   * Returns the total latency of an operation on an entity.
+   *
+   * @param entity the entity class, or {@code null} for operations spanning entity types
+   * @param operation the operation
+   * @return the latency snapshot, empty if the operation never ran
+   */
+  @NotNull
+  public LatencySnapshot latency(@Nullable Class<?> entity, @NotNull Operation operation) {
+    OperationMetrics metrics = operations.get(new Key(entity, operation));
+    return metrics == null ? LatencySnapshot.EMPTY : metrics.total.snapshot();
+  }
+
+  /**
+   * Returns the latency of one phase of an operation on an entity.
+   *
+   * @param entity the entity class, or {@code null} for operations spanning entity types
+   * @param operation the operation
+   * @param phase {@link Phase#PREPARE}, {@link Phase#EXECUTE} or {@link Phase#HYDRATE}
+   * @return the latency snapshot, empty if the operation never ran or never reached the phase
+   * @throws IllegalArgumentException for a transaction-level phase
+   */
+  @NotNull
+  public LatencySnapshot latency(
+      @Nullable Class<?> entity, @NotNull Operation operation, @NotNull Phase phase) {
+    OperationMetrics metrics = operations.get(new Key(entity, operation));
+    LatencyHistogram histogram = switch (phase) {
+      case PREPARE -> metrics == null ? null : metrics.prepare;
+      case EXECUTE -> metrics == null ? null : metrics.execute;
+      case HYDRATE -> metrics == null ? null : metrics.hydrate;
+      default -> throw new IllegalArgumentException(phase + " is not tracked per operation");
+    };
+    return histogram == null ? LatencySnapshot.EMPTY : histogram.snapshot();
+  }
+
+  /**
+   * Returns the latency of a phase across all operations.
+   *
+   * @param phase the phase
+   * @return the latency snapshot
+   */
+  @NotNull
+  public LatencySnapshot latency(@NotNull Phase phase) {
+    return phases.get(phase).snapshot();
+  }
+
+  /**
+   * Returns the number of times an operation on an entity failed.
+   *
+   * @param entity the entity class, or {@code null} for operations spanning entity types
+   * @param operation the operation
+   * @return the failure count
+   */
+  public long failures(@Nullable Class<?> entity, @NotNull Operation operation) {
+    OperationMetrics metrics = operations.get(new Key(entity, operation));
+    return metrics == null ? 0 : metrics.failures.sum();
+  }
+
+  /**
+   * Returns the rows read, or for writes written, by an operation on an entity.
+   *
+   * @param entity the entity class, or {@code null} for operations spanning entity types
+   * @param operation the operation
+   * @return the row count
+   */
+  public long rows(@Nullable Class<?> entity, @NotNull Operation operation) {
+    OperationMetrics metrics = operations.get(new Key(entity, operation));
+    return metrics == null ? 0 : metrics.rows.sum();
+  }
+
+  /**
+   * Returns the rows read by all operations.
+   */
+  public long rowsRead() {
+    return rowsRead.sum();
+  }
+
+  /**
+   * Returns the rows written by all operations.
+   */
+  public long rowsWritten() {
+    return rowsWritten.sum();
+  }
+
+  /**
+   * Returns how often each type without a registered converter was left to the driver.
+   *
+   * @return the fallback counts by Java type
+   */
+  @NotNull
+  public Map<Class<?>, Long> converterFallbacks() {
+    Map<Class<?>, Long> counts = new HashMap<>();
+    converterFallbacks.forEach((type, count) -> counts.put(type, count.sum()));
+    return counts;
+  }
+
+  private void recordPhase(LatencyHistogram histogram, Phase phase, long nanos) {
+    if (nanos > 0) {
+      histogram.record(nanos);
+      phases.get(phase).record(nanos);
+    }
+  }
+
+  private record Key(Class<?> entity, Operation operation) {}
+
+  private static final class OperationMetrics {
+
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LatencyHistogram prepare = new LatencyHistogram();
+    private final LatencyHistogram execute = new LatencyHistogram();
+    private final LatencyHistogram hydrate = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+  }
+}
@@ -1,6 +1,7 @@
 package me.oskarscot.volt.query;
 
 import java.util.List;
+import java.util.Objects;
 
 public abstract class Condition {
 
@@ -23,4 +24,27 @@ public abstract class Condition {
   public abstract String toSqlFragment();
 
   public abstract List<Object> getValues();
+
+  /**
+   * Conditions are equal when they are of the same kind and have the same field, operator
+   * and values, which makes them render the same SQL and bind the same parameters.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Condition other = (Condition) o;
+    return field.equals(other.field)
+        && operator == other.operator
+        && getValues().equals(other.getValues());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getClass(), field, operator, getValues());
+  }
 }
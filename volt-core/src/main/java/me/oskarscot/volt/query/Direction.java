@@ -0,0 +1,6 @@
+package me.oskarscot.volt.query;
+
+public enum Direction {
+  ASC,
+  DESC
+}
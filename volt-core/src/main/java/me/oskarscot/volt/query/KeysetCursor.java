@@ -0,0 +1,106 @@
+package me.oskarscot.volt.query;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encodes the last-seen ORDER BY values of a page into an opaque, URL-safe token and back.
+ *
+ * <p>Each value is written with a one-byte type tag so it decodes to the same Java type it
+ * was encoded from. Only the default converter types are supported.</p>
+ */
+public final class KeysetCursor {
+
+  private KeysetCursor() {}
+
+  /**
+   * Encodes keyset values into a cursor token.
+   *
+   * @param values the ORDER BY values of the last row of a page
+   * @return the cursor token
+   * @throws IllegalArgumentException if a value is null or of an unsupported type
+   */
+  public static String encode(List<?> values) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(values.size());
+      for (Object value : values) {
+        out.writeByte(tagOf(value));
+        out.writeUTF(value.toString());
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+  }
+
+  /**
+   * Decodes a cursor token back into keyset values.
+   *
+   * @param token the cursor token
+   * @return the keyset values
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static List<Object> decode(String token) {
+    try (DataInputStream in =
+        new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+      int count = in.readUnsignedByte();
+      List<Object> values = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        char tag = (char) in.readUnsignedByte();
+        values.add(parse(tag, in.readUTF()));
+      }
+      return values;
+    } catch (IOException | RuntimeException e) {
+      throw new IllegalArgumentException("Malformed cursor: " + token, e);
+    }
+  }
+
+  private static char tagOf(Object value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Keyset values cannot be null");
+    }
+    return switch (value) {
+      case String s -> 'S';
+      case Long l -> 'L';
+      case Integer i -> 'I';
+      case Double d -> 'D';
+      case Boolean b -> 'B';
+      case BigDecimal b -> 'N';
+      case Instant i -> 'T';
+      case LocalDate d -> 'd';
+      case LocalDateTime t -> 't';
+      case UUID u -> 'U';
+      default ->
+          throw new IllegalArgumentException(
+              "Unsupported keyset value type: " + value.getClass().getName());
+    };
+  }
+
+  private static Object parse(char tag, String text) {
+    return switch (tag) {
+      case 'S' -> text;
+      case 'L' -> Long.valueOf(text);
+      case 'I' -> Integer.valueOf(text);
+      case 'D' -> Double.valueOf(text);
+      case 'B' -> Boolean.valueOf(text);
+      case 'N' -> new BigDecimal(text);
+      case 'T' -> Instant.parse(text);
+      case 'd' -> LocalDate.parse(text);
+      case 't' -> LocalDateTime.parse(text);
+      case 'U' -> UUID.fromString(text);
+      default -> throw new IllegalArgumentException("Unknown type tag: " + tag);
+    };
+  }
+}
@@ -0,0 +1,8 @@
+package me.oskarscot.volt.query;
+
+public record Order(String field, Direction direction) {
+
+  public String toSqlFragment() {
+    return field + " " + direction.name();
+  }
+}
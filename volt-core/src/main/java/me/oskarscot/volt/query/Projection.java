@@ -0,0 +1,196 @@
+package me.oskarscot.volt.query;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import me.oskarscot.volt.exception.VoltException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a subset of an entity's columns to select and the type to hydrate them into.
+ *
+ * <p>The target is either a Java record, populated through its canonical constructor, or an
+ * interface of getters, backed by a lightweight proxy. Each record component or getter is
+ * matched to an entity field by its Java field name, or failing that by its column name.</p>
+ *
+ * <pre>{@code
+ * record UserSummary(Long id, String name) {}
+ *
+ * Projection<UserSummary> summary = Projection.of(UserSummary.class);
+ * Result<List<UserSummary>, VoltError> result = tx.findAllBy(User.class, query, summary);
+ * }</pre>
+ *
+ * <p>Projections are immutable and should be created once and reused.</p>
+ *
+ * @param <R> the projected type
+ */
+public final class Projection<R> {
+
+  private final Class<R> type;
+  private final List<String> properties;
+  private final MethodHandle constructor;
+  private final Map<Method, Integer> getters;
+
+  private Projection(
+      Class<R> type, List<String> properties, MethodHandle constructor, Map<Method, Integer> getters) {
+    this.type = type;
+    this.properties = properties;
+    this.constructor = constructor;
+    this.getters = getters;
+  }
+
+  /**
+   * Creates a projection into a record or an interface of getters.
+   *
+   * @param type the record or interface class
+   * @param <R> the projected type
+   * @return the projection
+   * @throws VoltException if the type is neither a record nor an interface
+   */
+  @NotNull
+  public static <R> Projection<R> of(@NotNull Class<R> type) {
+    if (type.isRecord()) {
+      return ofRecord(type);
+    }
+    if (type.isInterface()) {
+      return ofInterface(type);
+    }
+    throw new VoltException("Projection type " + type.getName() + " must be a record or an interface");
+  }
+
+  public Class<R> getType() {
+    return type;
+  }
+
+  /**
+   * Returns the projected property names, in constructor or declaration order.
+   */
+  public List<String> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Creates a projected instance from column values ordered like {@link #getProperties()}.
+   *
+   * @param values the property values
+   * @return the projected instance
+   */
+  @SuppressWarnings("unchecked")
+  public R create(Object[] values) {
+    if (constructor == null) {
+      return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, new View(values));
+    }
+    try {
+      return (R) (Object) constructor.invokeExact(values);
+    } catch (Throwable e) {
+      throw new VoltException("Cannot create projection " + type.getName() + ": " + e.getMessage(), e);
+    }
+  }
+
+  private static <R> Projection<R> ofRecord(Class<R> type) {
+    RecordComponent[] components = type.getRecordComponents();
+    List<String> properties = new ArrayList<>(components.length);
+    Class<?>[] parameterTypes = new Class<?>[components.length];
+    for (int i = 0; i < components.length; i++) {
+      properties.add(components[i].getName());
+      parameterTypes[i] = components[i].getType();
+    }
+
+    try {
+      MethodHandle constructor =
+          MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+              .findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+              .asSpreader(Object[].class, parameterTypes.length)
+              .asType(MethodType.methodType(Object.class, Object[].class));
+      return new Projection<>(type, List.copyOf(properties), constructor, Map.of());
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new VoltException("Cannot access canonical constructor of " + type.getName(), e);
+    }
+  }
+
+  private static <R> Projection<R> ofInterface(Class<R> type) {
+    List<String> properties = new ArrayList<>();
+    Map<Method, Integer> getters = new HashMap<>();
+
+    Method[] methods = type.getMethods();
+    Arrays.sort(methods, (a, b) -> a.getName().compareTo(b.getName()));
+    for (Method method : methods) {
+      if (!Modifier.isAbstract(method.getModifiers()) || isObjectMethod(method)) {
+        continue;
+      }
+      if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+        throw new VoltException(
+            "Projection method " + type.getName() + "." + method.getName() + " is not a getter");
+      }
+      getters.put(method, properties.size());
+      properties.add(propertyName(method.getName()));
+    }
+
+    return new Projection<>(type, List.copyOf(properties), null, Map.copyOf(getters));
+  }
+
+  private static boolean isObjectMethod(Method method) {
+    try {
+      Object.class.getMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static String propertyName(String methodName) {
+    String name;
+    if (methodName.startsWith("get") && methodName.length() > 3) {
+      name = methodName.substring(3);
+    } else if (methodName.startsWith("is") && methodName.length() > 2) {
+      name = methodName.substring(2);
+    } else {
+      return methodName;
+    }
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private final class View implements InvocationHandler {
+
+    private final Object[] values;
+
+    private View(Object[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Integer index = getters.get(method);
+      if (index != null) {
+        return values[index];
+      }
+
+      return switch (method.getName()) {
+        case "equals" ->
+            proxy == args[0]
+                || (args[0] != null
+                    && Proxy.isProxyClass(args[0].getClass())
+                    && Proxy.getInvocationHandler(args[0]) instanceof Projection<?>.View other
+                    && other.owner() == Projection.this
+                    && Arrays.equals(values, other.values));
+        case "hashCode" -> Arrays.hashCode(values);
+        case "toString" -> type.getSimpleName() + Arrays.toString(values);
+        default -> InvocationHandler.invokeDefault(proxy, method, args);
+      };
+    }
+
+    private Projection<R> owner() {
+      return Projection.this;
+    }
+  }
+}
@@ -1,22 +1,120 @@
 package me.oskarscot.volt.query;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class Query {
 
   private final List<Condition> conditions = new ArrayList<>();
+  private final List<Order> orders = new ArrayList<>();
+  private List<Object> after = List.of();
+  private int limit;
+  private boolean cached;
 
   public static FieldBuilder where(String field) {
     Query query = new Query();
     return new FieldBuilder(field, query);
   }
 
+  /**
+   * Creates a query without conditions, matching every row.
+   *
+   * <pre>{@code
+   * Query query = Query.all().orderBy("created_at", Direction.DESC).limit(50);
+   * }</pre>
+   */
+  public static Query all() {
+    return new Query();
+  }
+
   public FieldBuilder and(String field) {
     return new FieldBuilder(field, this);
   }
 
+  /**
+   * Adds an ascending ORDER BY column.
+   */
+  public Query orderBy(String field) {
+    return orderBy(field, Direction.ASC);
+  }
+
+  /**
+   * Adds an ORDER BY column. Columns are applied in the order they are added.
+   */
+  public Query orderBy(String field, Direction direction) {
+    orders.add(new Order(field, direction));
+    return this;
+  }
+
+  /**
+   * Limits the number of rows returned.
+   *
+   * @throws IllegalArgumentException if the limit is not positive
+   */
+  public Query limit(int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be positive");
+    }
+    this.limit = limit;
+    return this;
+  }
+
+  /**
+   * Seeks past a previously seen row, for keyset pagination.
+   *
+   * <p>The values are the ORDER BY column values of the last row already seen, one per
+   * {@link #orderBy(String, Direction)} column and in the same order. Only rows sorting
+   * after that row are returned, which an index on the ORDER BY columns serves in constant
+   * time regardless of how deep the page is.</p>
+   *
+   * <pre>{@code
+   * Query.all().orderBy("created_at").orderBy("id").after(lastCreatedAt, lastId).limit(50);
+   * }</pre>
+   */
+  public Query after(Object... lastSeenValues) {
+    this.after = Arrays.asList(lastSeenValues);
+    return this;
+  }
+
+  /**
+   * Seeks past the row encoded in a cursor token returned by a previous page.
+   *
+   * @throws IllegalArgumentException if the token is malformed
+   * @see me.oskarscot.volt.Page#nextCursor()
+   */
+  public Query afterCursor(String cursor) {
+    this.after = KeysetCursor.decode(cursor);
+    return this;
+  }
+
+  /**
+   * Allows the results of this query to be served from the second-level cache.
+   *
+   * <p>Only applies to {@link me.oskarscot.volt.annotation.Cacheable} entities loaded with
+   * {@link me.oskarscot.volt.Transaction#findAllBy(Class, Query)}. Results are cached by
+   * generated SQL and bind values under the entity's cache settings, and any write to the
+   * entity type through Volt, bulk loads included, discards every cached result of that type. Best suited to
+   * small, rarely written tables that are queried far more often than they change.</p>
+   *
+   * <pre>{@code
+   * tx.findAllBy(Country.class, Query.where("active").eq(true).orderBy("name").cached());
+   * }</pre>
+   */
+  public Query cached() {
+    this.cached = true;
+    return this;
+  }
+
+  /**
+   * Returns whether the results of this query may be served from the second-level cache.
+   */
+  public boolean isCached() {
+    return cached;
+  }
+
   void addCondition(Condition condition) {
     conditions.add(condition);
   }
@@ -25,11 +123,117 @@ public class Query {
     return conditions;
   }
 
+  public List<Order> getOrders() {
+    return orders;
+  }
+
+  /**
+   * Returns the row limit, or {@code 0} if the query is unlimited.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  public boolean hasKeyset() {
+    return !after.isEmpty();
+  }
+
   public String toWhereClause() {
-    return conditions.stream().map(Condition::toSqlFragment).collect(Collectors.joining(" AND "));
+    String where =
+        conditions.stream().map(Condition::toSqlFragment).collect(Collectors.joining(" AND "));
+    if (!hasKeyset()) {
+      return where;
+    }
+    String keyset = toKeysetPredicate();
+    return where.isEmpty() ? keyset : where + " AND " + keyset;
+  }
+
+  public String toOrderByClause() {
+    return orders.stream().map(Order::toSqlFragment).collect(Collectors.joining(", "));
   }
 
   public List<Object> collectValues() {
-    return conditions.stream().flatMap(c -> c.getValues().stream()).toList();
+    List<Object> values = new ArrayList<>();
+    for (Condition condition : conditions) {
+      values.addAll(condition.getValues());
+    }
+    values.addAll(getKeysetValues());
+    return values;
+  }
+
+  /**
+   * Returns the keyset bind values in placeholder order, following the condition values.
+   */
+  public List<Object> getKeysetValues() {
+    if (!hasKeyset() || uniformDirection()) {
+      return after;
+    }
+
+    List<Object> values = new ArrayList<>();
+    for (int i = 0; i < orders.size(); i++) {
+      values.addAll(after.subList(0, i + 1));
+    }
+    return values;
+  }
+
+  /**
+   * Queries are equal when they have the same conditions, ordering, keyset and limit. Whether
+   * a query is {@link #cached()} does not affect its results and is not compared.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Query other)) {
+      return false;
+    }
+    return limit == other.limit
+        && conditions.equals(other.conditions)
+        && orders.equals(other.orders)
+        && after.equals(other.after);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(conditions, orders, after, limit);
+  }
+
+  private String toKeysetPredicate() {
+    if (after.size() != orders.size()) {
+      throw new IllegalStateException(
+          "Keyset has " + after.size() + " values but the query orders by " + orders.size() + " columns");
+    }
+
+    if (uniformDirection()) {
+      String operator = orders.getFirst().direction() == Direction.ASC ? ">" : "<";
+      if (orders.size() == 1) {
+        return orders.getFirst().field() + " " + operator + " ?";
+      }
+      String columns = orders.stream().map(Order::field).collect(Collectors.joining(", "));
+      String placeholders = orders.stream().map(o -> "?").collect(Collectors.joining(", "));
+      return "(" + columns + ") " + operator + " (" + placeholders + ")";
+    }
+
+    // Mixed directions cannot use a row comparison: expand to
+    // (a > ?) OR (a = ? AND b < ?) OR ...
+    List<String> branches = new ArrayList<>();
+    for (int i = 0; i < orders.size(); i++) {
+      StringBuilder branch = new StringBuilder("(");
+      for (int j = 0; j < i; j++) {
+        branch.append(orders.get(j).field()).append(" = ? AND ");
+      }
+      Order order = orders.get(i);
+      branch
+          .append(order.field())
+          .append(order.direction() == Direction.ASC ? " > ?" : " < ?")
+          .append(')');
+      branches.add(branch.toString());
+    }
+    return "(" + String.join(" OR ", branches) + ")";
+  }
+
+  private boolean uniformDirection() {
+    return orders.stream().map(Order::direction).distinct().count() <= 1;
   }
 }
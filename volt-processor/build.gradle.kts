@@ -0,0 +1,65 @@
+plugins {
+    id("java-library")
+    id("maven-publish")
+    id("signing")
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_21
+    targetCompatibility = JavaVersion.VERSION_21
+    withJavadocJar()
+    withSourcesJar()
+}
+
+dependencies {
+    implementation(project(":volt-core"))
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("mavenJava") {
+            artifactId = "volt-processor"
+            from(components["java"])
+
+            pom {
+                name.set("Volt Processor")
+                description.set("Annotation processor generating reflection-free Volt entity mappers")
+                url.set("https://github.com/oskarscot/volt")
+
+                licenses {
+                    license {
+                        name.set("MIT License")
+                        url.set("https://opensource.org/licenses/MIT")
+                    }
+                }
+
+                developers {
+                    developer {
+                        id.set("oskarscot")
+                    }
+                }
+
+                scm {
+                    connection.set("scm:git:git://github.com/oskarscot/volt.git")
+                    developerConnection.set("scm:git:ssh://github.com/oskarscot/volt.git")
+                    url.set("https://github.com/oskarscot/volt")
+                }
+            }
+        }
+    }
+}
+
+signing {
+    val signingKey = System.getenv("GPG_PRIVATE_KEY")
+    val signingPassword = System.getenv("GPG_PASSPHRASE")
+
+    if (signingKey != null && signingPassword != null) {
+        useInMemoryPgpKeys(signingKey, signingPassword)
+    }
+
+    sign(publishing.publications["mavenJava"])
+}
+
+tasks.withType<Javadoc> {
+    (options as StandardJavadocDocletOptions).addStringOption("Xdoclint:none", "-quiet")
+}
@@ -0,0 +1,298 @@
+package me.oskarscot.volt.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import me.oskarscot.volt.annotation.Entity;
+import me.oskarscot.volt.annotation.Identifier;
+import me.oskarscot.volt.annotation.NamedField;
+import me.oskarscot.volt.entity.EntityMapper;
+
+/**
+ * Generates an {@link EntityMapper} for every {@link Entity} class and registers it as a
+ * service, so that Volt maps the entity without reflection.
+ *
+ * <p>Every non-static field must either be accessible from the entity's package and not
+ * {@code final}, or have a non-private getter ({@code getX}, or {@code isX} for booleans) and
+ * setter ({@code setX}) of the field's type. Entities that do not qualify are reported with a
+ * warning and left to Volt's reflective mapping, as are entities Volt would reject at
+ * registration.</p>
+ */
+public final class EntityMapperProcessor extends AbstractProcessor {
+
+  private static final String SERVICE_FILE = "META-INF/services/" + EntityMapper.class.getName();
+  private static final Set<TypeKind> PRIMITIVE_ACCESSORS =
+      Set.of(TypeKind.LONG, TypeKind.INT, TypeKind.DOUBLE, TypeKind.BOOLEAN);
+
+  private final Map<String, TypeElement> generated = new LinkedHashMap<>();
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Set.of(Entity.class.getName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+    for (TypeElement type : ElementFilter.typesIn(round.getElementsAnnotatedWith(Entity.class))) {
+      MappedEntity entity = analyze(type);
+      if (entity != null) {
+        write(entity);
+      }
+    }
+
+    if (round.processingOver() && !generated.isEmpty()) {
+      writeServiceFile();
+    }
+    return false;
+  }
+
+  private MappedEntity analyze(TypeElement type) {
+    if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+      return skip(type, "it is not a concrete class");
+    }
+    if (!type.getTypeParameters().isEmpty()) {
+      return skip(type, "it is generic");
+    }
+    for (Element e = type; e.getEnclosingElement() instanceof TypeElement; e = e.getEnclosingElement()) {
+      if (e.getModifiers().contains(Modifier.PRIVATE) || !e.getModifiers().contains(Modifier.STATIC)) {
+        return skip(type, "it is not visible from its package");
+      }
+    }
+    boolean constructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+        .anyMatch(c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+    if (!constructor) {
+      return skip(type, "it has no public no-arg constructor");
+    }
+
+    String tableName = type.getAnnotation(Entity.class).value();
+    if (tableName.isEmpty()) {
+      return skip(type, "it has no table name");
+    }
+
+    List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+    List<MappedField> fields = new ArrayList<>();
+    Identifier identifier = null;
+    int primaryKeyIndex = -1;
+
+    for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      Set<Modifier> modifiers = field.getModifiers();
+      if (modifiers.contains(Modifier.STATIC)) {
+        continue;
+      }
+
+      String name = field.getSimpleName().toString();
+      TypeMirror fieldType = field.asType();
+      String getter = null;
+      String setter = null;
+      if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+        getter = findGetter(methods, name, fieldType);
+        setter = findSetter(methods, name, fieldType);
+        if (getter == null || setter == null) {
+          return skip(type, "field '" + name + "' is private or final and has no getter and setter");
+        }
+      }
+
+      Identifier id = field.getAnnotation(Identifier.class);
+      if (id != null) {
+        if (identifier != null) {
+          return skip(type, "it has multiple @Identifier fields");
+        }
+        identifier = id;
+        primaryKeyIndex = fields.size();
+      }
+
+      NamedField named = field.getAnnotation(NamedField.class);
+      fields.add(new MappedField(
+          name,
+          named != null ? named.name() : name,
+          castType(fieldType),
+          getter,
+          setter,
+          PRIMITIVE_ACCESSORS.contains(fieldType.getKind()) ? fieldType.toString() : null));
+    }
+
+    if (identifier == null) {
+      return skip(type, "it has no @Identifier field");
+    }
+
+    String packageName = packageOf(type).getQualifiedName().toString();
+    return new MappedEntity(
+        packageName,
+        mapperSimpleName(type),
+        type.getQualifiedName().toString(),
+        tableName,
+        fields,
+        primaryKeyIndex,
+        identifier.type(),
+        identifier.generated());
+  }
+
+  private void write(MappedEntity entity) {
+    TypeElement origin = processingEnv.getElementUtils().getTypeElement(entity.entityName());
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(entity.mapperName(), origin);
+      try (Writer writer = file.openWriter()) {
+        writer.write(MapperWriter.render(entity, getClass().getName()));
+      }
+      generated.put(entity.mapperName(), origin);
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(
+          Kind.ERROR, "Cannot write " + entity.mapperName() + ": " + e.getMessage(), origin);
+    }
+  }
+
+  private void writeServiceFile() {
+    try {
+      FileObject file = processingEnv.getFiler().createResource(
+          StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE,
+          generated.values().toArray(new Element[0]));
+      try (Writer writer = file.openWriter()) {
+        for (String mapper : generated.keySet()) {
+          writer.write(mapper);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(
+          Kind.ERROR, "Cannot write " + SERVICE_FILE + ": " + e.getMessage());
+    }
+  }
+
+  private String findGetter(List<ExecutableElement> methods, String field, TypeMirror type) {
+    Types types = processingEnv.getTypeUtils();
+    boolean bool = type.getKind() == TypeKind.BOOLEAN
+        || types.isSameType(type, processingEnv.getElementUtils()
+            .getTypeElement(Boolean.class.getName()).asType());
+    for (ExecutableElement method : methods) {
+      String name = method.getSimpleName().toString();
+      boolean named = name.equals("get" + capitalize(field))
+          || (bool && name.equals("is" + capitalize(field)));
+      if (named && isAccessible(method) && method.getParameters().isEmpty()
+          && types.isSameType(method.getReturnType(), type)) {
+        return name;
+      }
+    }
+    return null;
+  }
+
+  private String findSetter(List<ExecutableElement> methods, String field, TypeMirror type) {
+    Types types = processingEnv.getTypeUtils();
+    for (ExecutableElement method : methods) {
+      String name = method.getSimpleName().toString();
+      if (name.equals("set" + capitalize(field)) && isAccessible(method)
+          && method.getParameters().size() == 1
+          && types.isSameType(method.getParameters().getFirst().asType(), type)) {
+        return name;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the type a field value is cast to before it is assigned: the boxed type of a
+   * primitive, so that unboxing happens on assignment, or the declared type with its type
+   * arguments, so that generic fields are not assigned raw values.
+   */
+  private String castType(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      Types types = processingEnv.getTypeUtils();
+      return types.boxedClass(types.getPrimitiveType(type.getKind())).getQualifiedName().toString();
+    }
+    return sourceName(type);
+  }
+
+  /**
+   * Renders a type as source, without the type annotations {@link TypeMirror#toString()}
+   * would include.
+   */
+  private String sourceName(TypeMirror type) {
+    return switch (type) {
+      case DeclaredType declared -> {
+        String name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        if (declared.getTypeArguments().isEmpty()) {
+          yield name;
+        }
+        yield name + declared.getTypeArguments().stream()
+            .map(this::sourceName)
+            .collect(Collectors.joining(", ", "<", ">"));
+      }
+      case ArrayType array -> sourceName(array.getComponentType()) + "[]";
+      case WildcardType wildcard when wildcard.getExtendsBound() != null ->
+          "? extends " + sourceName(wildcard.getExtendsBound());
+      case WildcardType wildcard when wildcard.getSuperBound() != null ->
+          "? super " + sourceName(wildcard.getSuperBound());
+      case WildcardType wildcard -> "?";
+      default -> type.getKind().isPrimitive()
+          ? type.getKind().name().toLowerCase(Locale.ROOT)
+          : processingEnv.getTypeUtils().erasure(type).toString();
+    };
+  }
+
+  private MappedEntity skip(TypeElement type, String reason) {
+    processingEnv.getMessager().printMessage(
+        Kind.WARNING,
+        "No mapper generated for " + type.getQualifiedName() + " because " + reason
+            + "; it will be mapped reflectively",
+        type);
+    return null;
+  }
+
+  private static boolean isAccessible(ExecutableElement method) {
+    Set<Modifier> modifiers = method.getModifiers();
+    return !modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.STATIC);
+  }
+
+  private static PackageElement packageOf(Element element) {
+    while (!(element instanceof PackageElement packageElement)) {
+      element = element.getEnclosingElement();
+    }
+    return packageElement;
+  }
+
+  /**
+   * Mirrors the name Volt looks mappers up by: nested class names joined by {@code _}.
+   */
+  private static String mapperSimpleName(TypeElement type) {
+    StringBuilder name = new StringBuilder(type.getSimpleName());
+    for (Element e = type.getEnclosingElement(); e instanceof TypeElement outer; e = e.getEnclosingElement()) {
+      name.insert(0, outer.getSimpleName() + "_");
+    }
+    return name.append(EntityMapper.SUFFIX).toString();
+  }
+
+  private static String capitalize(String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+}
@@ -0,0 +1,27 @@
+package me.oskarscot.volt.processor;
+
+import java.util.List;
+import me.oskarscot.volt.entity.PrimaryKeyType;
+
+/**
+ * An entity class that qualifies for a generated mapper.
+ *
+ * @param packageName the entity's package, empty for the unnamed package
+ * @param mapperSimpleName the generated mapper's simple name
+ * @param entityName the entity's canonical name
+ * @param fields the mapped fields, in declaration order
+ */
+record MappedEntity(
+    String packageName,
+    String mapperSimpleName,
+    String entityName,
+    String tableName,
+    List<MappedField> fields,
+    int primaryKeyIndex,
+    PrimaryKeyType primaryKeyType,
+    boolean primaryKeyGenerated) {
+
+  String mapperName() {
+    return packageName.isEmpty() ? mapperSimpleName : packageName + "." + mapperSimpleName;
+  }
+}
@@ -0,0 +1,15 @@
+package me.oskarscot.volt.processor;
+
+/**
+ * A mapped entity field.
+ *
+ * @param castType the type a value is cast to before it is assigned to the field, with its
+ *     type arguments
+ * @param getter the getter name, or {@code null} if the field is read directly
+ * @param setter the setter name, or {@code null} if the field is written directly
+ * @param primitive the field's type if it has primitive accessors on {@code EntityMapper},
+ *     such as {@code long}, otherwise {@code null}
+ */
+record MappedField(
+    String name, String columnName, String castType, String getter, String setter, String primitive) {
+}
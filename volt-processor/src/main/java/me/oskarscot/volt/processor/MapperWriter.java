@@ -0,0 +1,157 @@
+package me.oskarscot.volt.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import me.oskarscot.volt.entity.EntityMapper;
+import me.oskarscot.volt.entity.PrimaryKeyType;
+
+/**
+ * Renders the source of a generated {@link EntityMapper}.
+ */
+final class MapperWriter {
+
+  private MapperWriter() { }
+
+  static String render(MappedEntity entity, String generator) {
+    String type = entity.entityName();
+    List<MappedField> fields = entity.fields();
+    StringBuilder out = new StringBuilder();
+
+    if (!entity.packageName().isEmpty()) {
+      out.append("package ").append(entity.packageName()).append(";\n\n");
+    }
+    out.append("import java.util.List;\n")
+        .append("import javax.annotation.processing.Generated;\n")
+        .append("import ").append(EntityMapper.class.getName()).append(";\n")
+        .append("import ").append(PrimaryKeyType.class.getName()).append(";\n\n");
+
+    out.append("@Generated(\"").append(generator).append("\")\n")
+        .append("public final class ").append(entity.mapperSimpleName())
+        .append(" implements EntityMapper<").append(type).append("> {\n\n");
+
+    out.append("  private static final List<String> FIELD_NAMES = List.of(")
+        .append(literals(fields.stream().map(MappedField::name).toList())).append(");\n")
+        .append("  private static final List<String> COLUMN_NAMES = List.of(")
+        .append(literals(fields.stream().map(MappedField::columnName).toList())).append(");\n\n");
+
+    method(out, "Class<" + type + "> getEntityClass()", "return " + type + ".class;");
+    method(out, "String getTableName()", "return " + literal(entity.tableName()) + ";");
+    method(out, "List<String> getFieldNames()", "return FIELD_NAMES;");
+    method(out, "List<String> getColumnNames()", "return COLUMN_NAMES;");
+    method(out, "int getPrimaryKeyIndex()", "return " + entity.primaryKeyIndex() + ";");
+    method(out, "PrimaryKeyType getPrimaryKeyType()",
+        "return PrimaryKeyType." + entity.primaryKeyType().name() + ";");
+    method(out, "boolean isPrimaryKeyGenerated()", "return " + entity.primaryKeyGenerated() + ";");
+    method(out, type + " newInstance()", "return new " + type + "();");
+
+    out.append("  @Override\n")
+        .append("  public Object get(").append(type).append(" entity, int field) {\n")
+        .append("    return switch (field) {\n");
+    for (int i = 0; i < fields.size(); i++) {
+      MappedField field = fields.get(i);
+      out.append("      case ").append(i).append(" -> entity.")
+          .append(field.getter() != null ? field.getter() + "()" : field.name())
+          .append(";\n");
+    }
+    out.append("      default -> throw new IndexOutOfBoundsException(field);\n")
+        .append("    };\n")
+        .append("  }\n\n");
+
+    if (fields.stream().anyMatch(field -> field.castType().contains("<"))) {
+      out.append("  @SuppressWarnings(\"unchecked\")\n");
+    }
+    out.append("  @Override\n")
+        .append("  public void set(").append(type).append(" entity, int field, Object value) {\n")
+        .append("    switch (field) {\n");
+    for (int i = 0; i < fields.size(); i++) {
+      MappedField field = fields.get(i);
+      String cast = "(" + field.castType() + ") value";
+      out.append("      case ").append(i).append(" -> entity.")
+          .append(field.setter() != null
+              ? field.setter() + "(" + cast + ")"
+              : field.name() + " = " + cast)
+          .append(";\n");
+    }
+    out.append("      default -> throw new IndexOutOfBoundsException(field);\n")
+        .append("    }\n")
+        .append("  }\n");
+
+    for (String primitive : List.of("long", "int", "double", "boolean")) {
+      List<Integer> indexes = new ArrayList<>();
+      for (int i = 0; i < fields.size(); i++) {
+        if (primitive.equals(fields.get(i).primitive())) {
+          indexes.add(i);
+        }
+      }
+      if (!indexes.isEmpty()) {
+        primitiveAccessors(out, type, fields, primitive, indexes);
+      }
+    }
+
+    out.append("}\n");
+    return out.toString();
+  }
+
+  /**
+   * Renders the {@code getLong}/{@code setLong} style overrides for the fields of one primitive
+   * type, leaving other fields to the boxing defaults.
+   */
+  private static void primitiveAccessors(
+      StringBuilder out, String type, List<MappedField> fields, String primitive, List<Integer> indexes) {
+    String suffix = Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1);
+
+    out.append("\n  @Override\n")
+        .append("  public ").append(primitive).append(" get").append(suffix)
+        .append("(").append(type).append(" entity, int field) {\n")
+        .append("    return switch (field) {\n");
+    for (int i : indexes) {
+      MappedField field = fields.get(i);
+      out.append("      case ").append(i).append(" -> entity.")
+          .append(field.getter() != null ? field.getter() + "()" : field.name())
+          .append(";\n");
+    }
+    out.append("      default -> EntityMapper.super.get").append(suffix).append("(entity, field);\n")
+        .append("    };\n")
+        .append("  }\n\n");
+
+    out.append("  @Override\n")
+        .append("  public void set").append(suffix)
+        .append("(").append(type).append(" entity, int field, ").append(primitive).append(" value) {\n")
+        .append("    switch (field) {\n");
+    for (int i : indexes) {
+      MappedField field = fields.get(i);
+      out.append("      case ").append(i).append(" -> entity.")
+          .append(field.setter() != null ? field.setter() + "(value)" : field.name() + " = value")
+          .append(";\n");
+    }
+    out.append("      default -> EntityMapper.super.set").append(suffix).append("(entity, field, value);\n")
+        .append("    }\n")
+        .append("  }\n");
+  }
+
+  private static void method(StringBuilder out, String signature, String body) {
+    out.append("  @Override\n")
+        .append("  public ").append(signature).append(" {\n")
+        .append("    ").append(body).append('\n')
+        .append("  }\n\n");
+  }
+
+  private static String literals(List<String> values) {
+    return String.join(", ", values.stream().map(MapperWriter::literal).toList());
+  }
+
+  private static String literal(String value) {
+    StringBuilder out = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"' -> out.append("\\\"");
+        case '\\' -> out.append("\\\\");
+        case '\n' -> out.append("\\n");
+        case '\r' -> out.append("\\r");
+        case '\t' -> out.append("\\t");
+        default -> out.append(c);
+      }
+    }
+    return out.append('"').toString();
+  }
+}
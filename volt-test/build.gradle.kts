@@ -4,6 +4,7 @@ plugins {
 
 dependencies {
     implementation(project(":volt-core"))
+    annotationProcessor(project(":volt-processor"))
     implementation("org.postgresql:postgresql:42.7.7")
     implementation("ch.qos.logback:logback-classic:1.5.0")
 }
\ No newline at end of file